@@ -7,6 +7,7 @@ import StudentDashboard from './components/StudentDashboard';
 import ApprovalDashboard from './components/ApprovalDashboard';
 import SecurityDashboard from './components/SecurityDashboard';
 import AdminDashboard from './components/AdminDashboard';
+import { api } from './services/api';
 
 export default function App() {
   const [loggedInUser, setLoggedInUser] = useState(null);
@@ -29,6 +30,7 @@ export default function App() {
   };
 
   const handleLogout = () => {
+    api.logout();
     setLoggedInUser(null);
   };
 
@@ -86,6 +86,7 @@ const EditUserModal = ({ user, onClose, onSave }) => {
 export default function AdminDashboard({ user, onLogout, onProfileUpdate }) {
     const [activeView, setActiveView] = useState('viewUsers');
     const [users, setUsers] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState('');
     const [formData, setFormData] = useState({ name: '', username: '', password: '', role: 'STUDENT' });
@@ -94,15 +95,18 @@ export default function AdminDashboard({ user, onLogout, onProfileUpdate }) {
     const [editingUser, setEditingUser] = useState(null);
     const [isProfileOpen, setIsProfileOpen] = useState(false);
 
-    const fetchUsers = useCallback(async () => {
+    // Search and the role filter apply to the pages loaded so far.
+    const fetchUsers = useCallback(async (cursor) => {
         setLoading(true);
         try {
-            const userList = await api.adminGetAllUsers();
-            setUsers(Array.isArray(userList) ? userList : []);
+            const page = await api.adminGetAllUsers(cursor);
+            setUsers(prev => (cursor ? [...prev, ...page.items] : page.items));
+            setNextCursor(page.nextCursor);
             setError('');
         } catch (err) {
             setError('Failed to fetch users.');
             setUsers([]);
+            setNextCursor(null);
         } finally {
             setLoading(false);
         }
@@ -279,6 +283,9 @@ export default function AdminDashboard({ user, onLogout, onProfileUpdate }) {
                                         </div>
                                     </div>
                                 ))}
+                                {!loading && nextCursor && (
+                                    <Button onClick={() => fetchUsers(nextCursor)} className="w-full text-indigo-600 hover:bg-gray-100">Load more</Button>
+                                )}
                             </div>
                         </Card>
                     )}
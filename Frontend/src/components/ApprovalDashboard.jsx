@@ -24,25 +24,28 @@ const UserIcon = () => (
 export default function ApprovalDashboard({ loggedInUser, onLogout, onProfileUpdate }) {
     const [activeTab, setActiveTab] = useState('pending');
     const [requests, setRequests] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState('');
     const [isProfileOpen, setIsProfileOpen] = useState(false);
 
-    // Fetches requests based on the active tab and logged-in user
-    const fetchRequests = useCallback(async () => {
+    // Fetches the first page of requests for the active tab, or the next page when given a cursor
+    const fetchRequests = useCallback(async (cursor) => {
         // Guard against running before user data is available
         if (!loggedInUser?.id || !loggedInUser?.role) return;
 
         setLoading(true);
         setError('');
         try {
-            const data = activeTab === 'pending'
-                ? await api.getPendingRequests(loggedInUser.role, loggedInUser.id)
-                : await api.getApprovalHistory(loggedInUser.role, loggedInUser.id);
-            setRequests(Array.isArray(data) ? data : []);
+            const page = activeTab === 'pending'
+                ? await api.getPendingRequests(loggedInUser.role, loggedInUser.id, cursor)
+                : await api.getApprovalHistory(loggedInUser.role, loggedInUser.id, cursor);
+            setRequests(prev => (cursor ? [...prev, ...page.items] : page.items));
+            setNextCursor(page.nextCursor);
         } catch (err) {
             setError(`Failed to fetch ${activeTab} requests. Please try again.`);
             setRequests([]);
+            setNextCursor(null);
         } finally {
             setLoading(false);
         }
@@ -149,6 +152,9 @@ export default function ApprovalDashboard({ loggedInUser, onLogout, onProfileUpd
                             )) : <p className="text-center text-gray-500 py-10">No requests found in this view.</p>}
                         </div>
                     )}
+                    {!loading && nextCursor && (
+                        <Button onClick={() => fetchRequests(nextCursor)} className="w-full mt-4 text-indigo-600 hover:bg-gray-100">Load more</Button>
+                    )}
                 </Card>
             </main>
         </div>
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { api } from '../services/api';
 
 const Card = ({ children, className = '' }) => (
@@ -26,6 +26,8 @@ export default function GatePassForm({ user }) {
     const [wardens, setWardens] = useState([]);
     const [error, setError] = useState('');
     const [successMessage, setSuccessMessage] = useState('');
+    // One key per request being filled in; resubmitting after a failed or lost response reuses it.
+    const submissionKey = useRef(crypto.randomUUID());
 
     // Safely set student data once the 'user' prop is available
     useEffect(() => {
@@ -72,7 +74,8 @@ export default function GatePassForm({ user }) {
         }
 
         try {
-            await api.submitRequest(formData);
+            await api.submitRequest(formData, submissionKey.current);
+            submissionKey.current = crypto.randomUUID();
             setSuccessMessage('Gate pass request submitted successfully!');
             // Reset form fields except for student info
             setFormData(prev => ({
@@ -24,18 +24,20 @@ const getStatusColor = (status) => {
 
 export default function GatePassStatus({ studentId }) {
   const [requests, setRequests] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
 
-  // Function to fetch the student's requests from the backend
-  const fetchStatuses = async () => {
+  // Fetches the first page of the student's requests, or the next one when given a cursor.
+  // Pages arrive most recent first.
+  const fetchStatuses = async (cursor) => {
     if (!studentId) return; // Don't fetch if studentId is not available yet
     setLoading(true);
     setError('');
     try {
-      const data = await api.getRequestsByStudent(studentId);
-      // Sort requests to show the most recent ones first
-      setRequests(data.sort((a, b) => new Date(b.createdAt) - new Date(a.createdAt)));
+      const page = await api.getRequestsByStudent(studentId, cursor);
+      setRequests(prev => (cursor ? [...prev, ...page.items] : page.items));
+      setNextCursor(page.nextCursor);
     } catch (err) {
       setError('Failed to fetch gate pass statuses. Please try again later.');
     } finally {
@@ -113,6 +115,14 @@ export default function GatePassStatus({ studentId }) {
             </div>
           </Card>
         ))}
+        {!loading && nextCursor && (
+          <button
+            onClick={() => fetchStatuses(nextCursor)}
+            className="w-full py-2 text-sm font-semibold text-indigo-600 hover:text-indigo-800"
+          >
+            Load more
+          </button>
+        )}
       </div>
     </div>
   );
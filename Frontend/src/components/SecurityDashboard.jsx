@@ -22,6 +22,7 @@ const getStatusColor = (status) => {
 
 export default function SecurityDashboard({ loggedInUser, onLogout, onProfileUpdate }) {
     const [requests, setRequests] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState('');
     const [searchTerm, setSearchTerm] = useState('');
@@ -29,15 +30,18 @@ export default function SecurityDashboard({ loggedInUser, onLogout, onProfileUpd
     const [isProfileOpen, setIsProfileOpen] = useState(false);
     const [dropdownOpen, setDropdownOpen] = useState(false);
 
-    const fetchRequests = useCallback(async () => {
+    // Search and the department filter apply to the pages loaded so far.
+    const fetchRequests = useCallback(async (cursor) => {
         setLoading(true);
         setError('');
         try {
-            const approvedRequests = await api.getAllApprovedRequests();
-            setRequests(Array.isArray(approvedRequests) ? approvedRequests : []);
+            const page = await api.getAllApprovedRequests(cursor);
+            setRequests(prev => (cursor ? [...prev, ...page.items] : page.items));
+            setNextCursor(page.nextCursor);
         } catch (err) {
             setError('Failed to fetch approved gate passes.');
             setRequests([]);
+            setNextCursor(null);
         } finally {
             setLoading(false);
         }
@@ -170,6 +174,14 @@ export default function SecurityDashboard({ loggedInUser, onLogout, onProfileUpd
                             )}
                         </div>
                     )}
+                    {!loading && nextCursor && (
+                        <button
+                            onClick={() => fetchRequests(nextCursor)}
+                            className="w-full mt-4 py-2 text-sm font-semibold text-indigo-600 rounded-lg hover:bg-gray-100"
+                        >
+                            Load more
+                        </button>
+                    )}
                 </Card>
             </main>
         </div>
@@ -22,6 +22,19 @@ const handleResponse = async (response) => {
     }
 };
 
+// Session token from the last login, sent as a Bearer token on every API call so the
+// backend knows who is acting. Cleared by logout().
+let sessionToken = null;
+const authFetch = (url, options = {}) => fetch(url, {
+    ...options,
+    headers: { ...(sessionToken ? { Authorization: `Bearer ${sessionToken}` } : {}), ...options.headers },
+});
+
+// List endpoints are read a page at a time; each page resolves to { items, nextCursor }, and
+// nextCursor (null on the last page) is passed back to fetch the following one.
+const PAGE_SIZE = 50;
+const pageQuery = (cursor) => `?size=${PAGE_SIZE}${cursor ? `&cursor=${encodeURIComponent(cursor)}` : ''}`;
+
 export const api = {
     // --- Authentication ---
     login: async (username, password) => {
@@ -30,67 +43,112 @@ export const api = {
             headers: { 'Content-Type': 'application/json' },
             body: JSON.stringify({ username, password }),
         });
-        return handleResponse(response);
+        const user = await handleResponse(response);
+        sessionToken = user.token;
+        return user;
+    },
+    logout: () => {
+        sessionToken = null;
     },
 
     // --- Student Actions ---
-    submitRequest: async (requestData) => {
-        const response = await fetch(`${API_BASE_URL}/gatepass/request`, {
+    // Pass the same idempotencyKey when retrying a submission so it cannot be created twice.
+    submitRequest: async (requestData, idempotencyKey) => {
+        const response = await authFetch(`${API_BASE_URL}/gatepass/request`, {
             method: 'POST',
-            headers: { 'Content-Type': 'application/json' },
+            headers: {
+                'Content-Type': 'application/json',
+                ...(idempotencyKey ? { 'Idempotency-Key': idempotencyKey } : {}),
+            },
             body: JSON.stringify(requestData)
         });
         return handleResponse(response);
     },
-    getRequestsByStudent: async (studentId) => {
-        const response = await fetch(`${API_BASE_URL}/gatepass/student/${studentId}`);
+    getRequestsByStudent: async (studentId, cursor) => {
+        const response = await authFetch(`${API_BASE_URL}/gatepass/student/${studentId}/page${pageQuery(cursor)}`);
         return handleResponse(response);
     },
     deleteRequest: async (requestId) => {
-        const response = await fetch(`${API_BASE_URL}/gatepass/request/${requestId}`, {
+        const response = await authFetch(`${API_BASE_URL}/gatepass/request/${requestId}`, {
             method: 'DELETE',
         });
         return handleResponse(response);
     },
 
     // --- Tutor & Warden Actions ---
-    getPendingRequests: async (role, userId) => {
-        const endpoint = role === 'TUTOR' ? `/gatepass/pending/tutor/${userId}` : `/gatepass/pending/warden/${userId}`;
-        const response = await fetch(`${API_BASE_URL}${endpoint}`);
+    getPendingRequests: async (role, userId, cursor) => {
+        const endpoint = role === 'TUTOR' ? `/gatepass/pending/tutor/${userId}/page` : `/gatepass/pending/warden/${userId}/page`;
+        const response = await authFetch(`${API_BASE_URL}${endpoint}${pageQuery(cursor)}`);
         return handleResponse(response);
     },
-    getApprovalHistory: async (role, userId) => {
-        const endpoint = role === 'TUTOR' ? `/gatepass/history/tutor/${userId}` : `/gatepass/history/warden/${userId}`;
-        const response = await fetch(`${API_BASE_URL}${endpoint}`);
+    getApprovalHistory: async (role, userId, cursor) => {
+        const endpoint = role === 'TUTOR' ? `/gatepass/history/tutor/${userId}/page` : `/gatepass/history/warden/${userId}/page`;
+        const response = await authFetch(`${API_BASE_URL}${endpoint}${pageQuery(cursor)}`);
         return handleResponse(response);
     },
     approveRequest: async (requestId, approverRole) => {
         const url = `${API_BASE_URL}/gatepass/approve/${requestId}?role=${approverRole}`;
-        const response = await fetch(url, { method: 'POST' });
+        const response = await authFetch(url, { method: 'POST' });
         return handleResponse(response);
     },
     rejectRequest: async (requestId) => {
-        const response = await fetch(`${API_BASE_URL}/gatepass/reject/${requestId}`, { method: 'POST' });
+        const response = await authFetch(`${API_BASE_URL}/gatepass/reject/${requestId}`, { method: 'POST' });
+        return handleResponse(response);
+    },
+    batchTransition: async (ids, action, role) => {
+        const response = await authFetch(`${API_BASE_URL}/gatepass/batch`, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify({ ids, action, role }),
+        });
         return handleResponse(response);
     },
     modifyApproval: async (requestId) => {
-        const response = await fetch(`${API_BASE_URL}/gatepass/modify/${requestId}`, { method: 'POST' });
+        const response = await authFetch(`${API_BASE_URL}/gatepass/modify/${requestId}`, { method: 'POST' });
         return handleResponse(response);
     },
     
+    /**
+     * Opens a Server-Sent Events stream of gate pass transitions.
+     * @param {string} scope 'tutor/{id}', 'warden/{id}', 'student/{id}' or 'security'.
+     * @param {(event: object) => void} onEvent Called with each parsed transition.
+     * @param {() => void} [onReset] Called when the server could not replay the events missed
+     *     while disconnected (e.g. after a server restart); reload the list from the API.
+     * @returns {EventSource} Call close() on it when the dashboard unmounts.
+     */
+    subscribeToEvents: (scope, onEvent, onReset) => {
+        const source = new EventSource(`${API_BASE_URL}/gatepass/events/${scope}`);
+        source.addEventListener('transition', (e) => onEvent(JSON.parse(e.data)));
+        if (onReset) source.addEventListener('reset', () => onReset());
+        return source;
+    },
+
     // --- Security Actions ---
-    getAllApprovedRequests: async () => {
-        const response = await fetch(`${API_BASE_URL}/gatepass/approved`);
+    getAllApprovedRequests: async (cursor) => {
+        const response = await authFetch(`${API_BASE_URL}/gatepass/approved/page${pageQuery(cursor)}`);
         return handleResponse(response);
     },
     
+    getPassToken: async (requestId) => {
+        const response = await authFetch(`${API_BASE_URL}/gate/token/${requestId}`);
+        return handleResponse(response);
+    },
+    scanPass: async (token) => {
+        const response = await authFetch(`${API_BASE_URL}/gate/scan`, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify({ token }),
+        });
+        return handleResponse(response);
+    },
+
     // --- General User & Profile Actions ---
     getUsersByRole: async (role) => {
-        const response = await fetch(`${API_BASE_URL}/users/role/${role}`);
+        const response = await authFetch(`${API_BASE_URL}/users/role/${role}`);
         return handleResponse(response);
     },
     updateProfile: async (userId, profileData) => {
-        const response = await fetch(`${API_BASE_URL}/users/${userId}/profile`, {
+        const response = await authFetch(`${API_BASE_URL}/users/${userId}/profile`, {
             method: 'PUT',
             headers: { 'Content-Type': 'application/json' },
             body: JSON.stringify(profileData)
@@ -98,7 +156,7 @@ export const api = {
         return handleResponse(response);
     },
     changePassword: async (userId, currentPassword, newPassword) => {
-        const response = await fetch(`${API_BASE_URL}/users/${userId}/change-password`, {
+        const response = await authFetch(`${API_BASE_URL}/users/${userId}/change-password`, {
             method: 'POST',
             headers: { 'Content-Type': 'application/json' },
             body: JSON.stringify({ currentPassword, newPassword }),
@@ -107,12 +165,12 @@ export const api = {
     },
     
     // --- Admin Actions ---
-    adminGetAllUsers: async () => {
-        const response = await fetch(`${API_BASE_URL}/admin/users`);
+    adminGetAllUsers: async (cursor) => {
+        const response = await authFetch(`${API_BASE_URL}/admin/users/page${pageQuery(cursor)}`);
         return handleResponse(response);
     },
     adminCreateUser: async (userData) => {
-        const response = await fetch(`${API_BASE_URL}/admin/users`, {
+        const response = await authFetch(`${API_BASE_URL}/admin/users`, {
             method: 'POST',
             headers: { 'Content-Type': 'application/json' },
             body: JSON.stringify(userData),
@@ -120,7 +178,7 @@ export const api = {
         return handleResponse(response);
     },
     adminUpdateUser: async (userId, userData) => {
-        const response = await fetch(`${API_BASE_URL}/admin/users/${userId}`, {
+        const response = await authFetch(`${API_BASE_URL}/admin/users/${userId}`, {
             method: 'PUT',
             headers: { 'Content-Type': 'application/json' },
             body: JSON.stringify(userData),
@@ -128,10 +186,15 @@ export const api = {
         return handleResponse(response);
     },
     adminDeleteUser: async (userId) => {
-        const response = await fetch(`${API_BASE_URL}/admin/users/${userId}`, {
+        const response = await authFetch(`${API_BASE_URL}/admin/users/${userId}`, {
             method: 'DELETE',
         });
         return handleResponse(response);
     },
+    // Pending and processed request counts per tutor and warden.
+    adminGetApproverWorkload: async () => {
+        const response = await authFetch(`${API_BASE_URL}/admin/workload`);
+        return handleResponse(response);
+    },
 };
 
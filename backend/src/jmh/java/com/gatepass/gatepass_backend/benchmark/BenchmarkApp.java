@@ -0,0 +1,48 @@
+package com.gatepass.gatepass_backend.benchmark;
+
+import com.gatepass.gatepass_backend.GatepassBackendApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.HashMap;
+import java.util.Map;
+
+// Boots the application against a named in-memory H2 database. seeded() starts once to create
+// the schema and load BenchmarkData, then restarts on the same database so every startup
+// loader (search index, gate index, approver queues) sees the seeded rows, as after a deploy.
+final class BenchmarkApp {
+    private BenchmarkApp() {}
+
+    static ConfigurableApplicationContext seeded(String database, int requests, boolean web, Map<String, Object> properties) {
+        seed(database, requests);
+        return start(database, web, properties);
+    }
+
+    static void seed(String database, int requests) {
+        try (ConfigurableApplicationContext loader = start(database, false, Map.of("spring.jpa.hibernate.ddl-auto", "create"))) {
+            BenchmarkData.seed(loader, requests);
+        }
+    }
+
+    static ConfigurableApplicationContext start(String database, boolean web, Map<String, Object> properties) {
+        Map<String, Object> defaults = new HashMap<>();
+        defaults.put("spring.datasource.url", "jdbc:h2:mem:" + database + ";MODE=MySQL;NON_KEYWORDS=USER,YEAR,VALUE;DB_CLOSE_DELAY=-1");
+        defaults.put("spring.jpa.hibernate.ddl-auto", "none");
+        defaults.put("spring.datasource.hikari.maximum-pool-size", 32);
+        defaults.put("spring.jpa.open-in-view", false);
+        defaults.put("spring.main.banner-mode", "off");
+        defaults.put("logging.level.root", "WARN");
+        defaults.put("server.port", 0);
+        defaults.putAll(properties);
+        // Passed as command-line arguments so they override the test application.properties.
+        String[] args = defaults.entrySet().stream().map(e -> "--" + e.getKey() + "=" + e.getValue()).toArray(String[]::new);
+        return new SpringApplicationBuilder(GatepassBackendApplication.class)
+                .web(web ? WebApplicationType.SERVLET : WebApplicationType.NONE)
+                .run(args);
+    }
+
+    // Volume knobs shared by the JMH forks (which inherit -D flags) and the load scenario.
+    static int requests(int fallback) {
+        return Integer.getInteger("gatepass.bench.requests", fallback);
+    }
+}
@@ -0,0 +1,106 @@
+package com.gatepass.gatepass_backend.benchmark;
+
+import com.gatepass.gatepass_backend.service.ArchiveService;
+import com.gatepass.gatepass_backend.service.PasswordService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// A hostel with two years of gate pass history: one student per 20 requests, one tutor per
+// 50 students, 20 wardens. Everything older than three days is decided (about 85% approved
+// and used, the rest rejected); the last three days hold the open approval queues. Seeded
+// from a fixed random seed so every run sees the same data, then archived as the nightly job
+// would, so history reads merge both tables. All users share PASSWORD.
+final class BenchmarkData {
+    static final String PASSWORD = "benchmark-password";
+    static final int WARDENS = 20;
+
+    private static final String[] FIRST = {"Aarav", "Diya", "Ishaan", "Meera", "Rohan", "Ananya", "Karthik", "Priya",
+            "Vikram", "Sneha", "Arjun", "Kavya", "Nikhil", "Lakshmi", "Siddharth", "Pooja", "Rahul", "Divya"};
+    private static final String[] LAST = {"Sharma", "Iyer", "Reddy", "Nair", "Patel", "Menon", "Gupta", "Rao",
+            "Krishnan", "Das", "Pillai", "Verma", "Subramanian", "Joshi"};
+    private static final String[] DEPARTMENTS = {"CSE", "ECE", "EEE", "MECH", "CIVIL", "IT", "AIDS", "BIOTECH"};
+    private static final String[] PURPOSES = {"Home visit for the weekend", "Medical appointment at the city hospital",
+            "Family function in hometown", "Sports tournament at another college", "Internship interview",
+            "Bank work and document verification", "Festival holidays", "Dental checkup",
+            "Passport office appointment", "Hackathon in the city", "Shopping for project components",
+            "Sister's wedding"};
+
+    private BenchmarkData() {}
+
+    static void seed(ApplicationContext context, int requests) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        String hash = context.getBean(PasswordService.class).hash(PASSWORD);
+        SplittableRandom random = new SplittableRandom(42);
+        int students = Math.max(1, requests / 20), tutors = Math.max(1, students / 50);
+
+        List<Object[]> users = new ArrayList<>();
+        users.add(user("admin", hash, "Admin", "ADMIN"));
+        users.add(user("security", hash, "Main Gate", "SECURITY"));
+        for (int i = 0; i < WARDENS; i++) users.add(user("warden" + i, hash, name(random), "WARDEN"));
+        for (int i = 0; i < tutors; i++) users.add(user("tutor" + i, hash, name(random), "TUTOR"));
+        for (int i = 0; i < students; i++) users.add(user("student" + i, hash, name(random), "STUDENT"));
+        jdbc.batchUpdate("insert into user (username, password, name, role, email, phone) values (?, ?, ?, ?, ?, ?)", users);
+
+        List<Long> wardenIds = ids(jdbc, "WARDEN"), tutorIds = ids(jdbc, "TUTOR"), studentIds = ids(jdbc, "STUDENT");
+        List<String> studentNames = jdbc.queryForList("select name from user where role = 'STUDENT' order by id", String.class);
+
+        LocalDateTime now = LocalDateTime.now(), start = now.minusDays(730);
+        long span = Duration.between(start, now).toSeconds();
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            int s = random.nextInt(students);
+            LocalDateTime created = start.plusSeconds(span * i / requests);
+            boolean open = created.isAfter(now.minusDays(3));
+            String status;
+            LocalDateTime changed = created.plusHours(1 + random.nextInt(20)), exit = null, back = null;
+            if (open) {
+                status = random.nextBoolean() ? "PENDING_TUTOR_APPROVAL" : "PENDING_WARDEN_APPROVAL";
+                if (status.startsWith("PENDING_TUTOR") || changed.isAfter(now)) changed = created;
+            } else if (random.nextInt(100) < 85) {
+                status = "APPROVED";
+                exit = changed.plusHours(random.nextInt(12));
+                back = exit.plusHours(4 + random.nextInt(60));
+            } else {
+                status = "REJECTED";
+            }
+            batch.add(new Object[]{studentIds.get(s), studentNames.get(s), "RN" + (100000 + s), "98" + (40000000 + s),
+                    DEPARTMENTS[s % DEPARTMENTS.length], 1 + s % 4, String.valueOf((char) ('A' + s % 3)),
+                    PURPOSES[random.nextInt(PURPOSES.length)], status, tutorIds.get(s % tutors), wardenIds.get(s % WARDENS),
+                    Timestamp.valueOf(changed), timestamp(exit), timestamp(back), Timestamp.valueOf(created)});
+            if (batch.size() == 5000 || i == requests - 1) {
+                jdbc.batchUpdate("insert into gate_pass_request (student_id, student_name, roll_number, mobile_number,"
+                        + " department, year, class_section, purpose, status, tutor_id, warden_id, version,"
+                        + " status_changed_at, exit_at, return_at, created_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        context.getBean(ArchiveService.class).archive();
+    }
+
+    static List<Long> ids(JdbcTemplate jdbc, String role) {
+        return jdbc.queryForList("select id from user where role = ? order by id", Long.class, role);
+    }
+
+    // Approved passes still in the live table, for benchmarks that cycle them through modify and re-approve.
+    static List<Long> approvedRequestIds(JdbcTemplate jdbc, int limit) {
+        return jdbc.queryForList("select id from gate_pass_request where status = 'APPROVED' order by id desc limit ?", Long.class, limit);
+    }
+
+    private static Object[] user(String username, String hash, String name, String role) {
+        return new Object[]{username, hash, name, role, username + "@college.edu", "9" + Math.abs(username.hashCode() % 1_000_000_000L)};
+    }
+
+    private static String name(SplittableRandom random) {
+        return FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)];
+    }
+
+    private static Timestamp timestamp(LocalDateTime t) {
+        return t == null ? null : Timestamp.valueOf(t);
+    }
+}
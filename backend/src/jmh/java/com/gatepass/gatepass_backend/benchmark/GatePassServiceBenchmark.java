@@ -0,0 +1,97 @@
+package com.gatepass.gatepass_backend.benchmark;
+
+import com.gatepass.gatepass_backend.dto.CursorPage;
+import com.gatepass.gatepass_backend.dto.GatePassSummary;
+import com.gatepass.gatepass_backend.dto.UserDto;
+import com.gatepass.gatepass_backend.model.GatePassRequest;
+import com.gatepass.gatepass_backend.repository.UserRepository;
+import com.gatepass.gatepass_backend.service.GatePassService;
+import com.gatepass.gatepass_backend.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Service-level costs against a seeded database: a full transition round trip (with every
+// transition listener attached), tutor history as a list and as a keyset page, a student's
+// summary page, and the role directory with and without the cache in front of it.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GatePassServiceBenchmark {
+    private ConfigurableApplicationContext context;
+    private GatePassService gatePassService;
+    private UserService userService;
+    private UserRepository userRepository;
+    private List<Long> approved, tutors, students;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApp.seeded("service", BenchmarkApp.requests(200_000), false, Map.of());
+        gatePassService = context.getBean(GatePassService.class);
+        userService = context.getBean(UserService.class);
+        userRepository = context.getBean(UserRepository.class);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        approved = BenchmarkData.approvedRequestIds(jdbc, 1000);
+        tutors = BenchmarkData.ids(jdbc, "TUTOR");
+        students = BenchmarkData.ids(jdbc, "STUDENT");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private Long pick(List<Long> ids) {
+        return ids.get(next++ % ids.size());
+    }
+
+    // APPROVED -> PENDING_WARDEN_APPROVAL -> APPROVED, so the data set does not drift.
+    @Benchmark
+    public GatePassRequest modifyAndReapprove() {
+        Long id = pick(approved);
+        gatePassService.modifyApproval(id);
+        return gatePassService.approveRequest(id, "WARDEN");
+    }
+
+    @Benchmark
+    public List<GatePassRequest> tutorHistoryList() {
+        return gatePassService.getHistoryForTutor(pick(tutors));
+    }
+
+    @Benchmark
+    public CursorPage<GatePassRequest> tutorHistoryPage() {
+        return gatePassService.pageHistoryForTutor(pick(tutors), null, null, null, 50);
+    }
+
+    @Benchmark
+    public CursorPage<GatePassSummary> studentSummaryPage() {
+        return gatePassService.summariesByStudentId(pick(students), null, 50);
+    }
+
+    @Benchmark
+    public List<UserDto> studentsByRoleCached() {
+        return userService.findByRole("STUDENT");
+    }
+
+    @Benchmark
+    public List<UserDto> studentsByRoleQuery() {
+        return userRepository.findDtoByRole("STUDENT");
+    }
+}
@@ -0,0 +1,80 @@
+package com.gatepass.gatepass_backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gatepass.gatepass_backend.dto.GatePassSummary;
+import com.gatepass.gatepass_backend.model.GatePassRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Response serialization for one page of rows, full entity vs GatePassSummary projection, with
+// the same ObjectMapper setup Spring MVC uses. Run with -prof gc (the profile default) for
+// bytes allocated per page; the serialized size of each shape is printed at setup, and the
+// load scenario reports the on-the-wire size of the /page and /summary endpoints.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    @Param({"50", "200"})
+    public int rows;
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<GatePassRequest> requests;
+    private List<GatePassSummary> summaries;
+
+    @Setup
+    public void setUp() throws Exception {
+        requests = new ArrayList<>(rows);
+        summaries = new ArrayList<>(rows);
+        LocalDateTime at = LocalDateTime.of(2025, 3, 1, 9, 30);
+        for (int i = 0; i < rows; i++) {
+            GatePassRequest r = new GatePassRequest();
+            r.setId(100_000L + i);
+            r.setStudentId(5_000L + i);
+            r.setStudentName("Ananya Krishnan");
+            r.setRollNumber("RN" + (100_000 + i));
+            r.setMobileNumber("9840012345");
+            r.setDepartment("CSE");
+            r.setYear(3);
+            r.setClassSection("B");
+            r.setPurpose("Medical appointment at the city hospital");
+            r.setStatus("APPROVED");
+            r.setTutorId(12L);
+            r.setWardenId(3L);
+            r.setVersion(2L);
+            r.setCreatedAt(at.plusMinutes(i));
+            r.setStatusChangedAt(at.plusMinutes(i + 90));
+            r.setExitAt(at.plusMinutes(i + 200));
+            requests.add(r);
+            summaries.add(new GatePassSummary(r.getId(), r.getStudentName(), r.getRollNumber(), r.getStatus(), r.getCreatedAt()));
+        }
+        System.out.printf("%d rows: entity %d bytes, summary %d bytes%n", rows,
+                mapper.writeValueAsBytes(requests).length, mapper.writeValueAsBytes(summaries).length);
+    }
+
+    @Benchmark
+    public byte[] entities() throws Exception {
+        return mapper.writeValueAsBytes(requests);
+    }
+
+    @Benchmark
+    public byte[] summaries() throws Exception {
+        return mapper.writeValueAsBytes(summaries);
+    }
+}
@@ -0,0 +1,259 @@
+package com.gatepass.gatepass_backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+// Reproducible HTTP load test. Seeds an in-memory H2 database once (BenchmarkData), then for
+// each thread model boots the full application on a random port and drives it with a fixed
+// number of closed-loop clients issuing a weighted mix of the endpoints the frontends call
+// during peak exit hours. Records per-endpoint latency percentiles, error counts and mean
+// response size (which compares the /page and /summary shapes on the wire) as JSON.
+//
+//   --threads platform,virtual   thread models to run, one after the other
+//   --requests 200000            seeded gate pass requests
+//   --concurrency 400            concurrent clients
+//   --warmup 15 --duration 60    seconds; only the duration is recorded
+//   --out load-results.json
+//
+// "virtual" sets spring.threads.virtual.enabled, as the highconcurrency profile does; the pool
+// and open-in-view settings are the same for both runs, so the thread model is the only change.
+// The profile itself is not activated because its Connector/J properties do not apply to H2.
+public final class LoadScenario {
+    private record Op(String name, int weight) {}
+
+    private static final List<Op> MIX = List.of(
+            new Op("pendingTutorSummary", 20),
+            new Op("pendingWardenPage", 10),
+            new Op("tutorHistoryPage", 15),
+            new Op("studentSummary", 15),
+            new Op("studentPage", 10),
+            new Op("usersByRole", 5),
+            new Op("search", 10),
+            new Op("modifyAndApprove", 10),
+            new Op("create", 4),
+            new Op("login", 1));
+    private static final String[] SEARCHES = {"ananya", "krishnan cse", "krisnan", "rn1001", "medical"};
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final String base;
+    private final List<Long> tutors, wardens, students, approved;
+
+    private LoadScenario(ConfigurableApplicationContext context) {
+        base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        tutors = BenchmarkData.ids(jdbc, "TUTOR");
+        wardens = BenchmarkData.ids(jdbc, "WARDEN");
+        students = BenchmarkData.ids(jdbc, "STUDENT");
+        approved = BenchmarkData.approvedRequestIds(jdbc, 20_000);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) opts.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        int requests = Integer.parseInt(opts.getOrDefault("requests", String.valueOf(BenchmarkApp.requests(200_000))));
+        int concurrency = Integer.parseInt(opts.getOrDefault("concurrency", "400"));
+        int warmup = Integer.parseInt(opts.getOrDefault("warmup", "15"));
+        int duration = Integer.parseInt(opts.getOrDefault("duration", "60"));
+        File out = new File(opts.getOrDefault("out", "load-results.json"));
+
+        BenchmarkApp.seed("load", requests);
+        List<Map<String, Object>> runs = new ArrayList<>();
+        for (String threads : opts.getOrDefault("threads", "platform,virtual").split(",")) {
+            try (ConfigurableApplicationContext context = BenchmarkApp.start("load", true,
+                    Map.of("spring.threads.virtual.enabled", "virtual".equals(threads)))) {
+                Map<String, Object> run = new LinkedHashMap<>();
+                run.put("threads", threads);
+                run.putAll(new LoadScenario(context).run(threads, concurrency, warmup, duration));
+                runs.add(run);
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("java", System.getProperty("java.version"));
+        report.put("cpus", Runtime.getRuntime().availableProcessors());
+        report.put("seededRequests", requests);
+        report.put("concurrency", concurrency);
+        report.put("warmupSeconds", warmup);
+        report.put("durationSeconds", duration);
+        report.put("runs", runs);
+        File dir = out.getAbsoluteFile().getParentFile();
+        if (dir != null) dir.mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out, report);
+        System.out.println("Load results written to " + out.getAbsolutePath());
+        System.exit(0);
+    }
+
+    private Map<String, Object> run(String label, int concurrency, int warmupSeconds, int durationSeconds) throws InterruptedException {
+        long start = System.nanoTime();
+        long recordFrom = start + Duration.ofSeconds(warmupSeconds).toNanos();
+        long stopAt = recordFrom + Duration.ofSeconds(durationSeconds).toNanos();
+        List<Client> clients = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int k = 0; k < concurrency; k++) {
+            Client c = new Client(k, concurrency, recordFrom, stopAt);
+            clients.add(c);
+            threads.add(Thread.ofVirtual().start(c::loop));
+        }
+        for (Thread t : threads) t.join();
+
+        Map<String, Stats> byEndpoint = new TreeMap<>();
+        Stats all = new Stats();
+        for (Client c : clients)
+            c.stats.forEach((name, s) -> {
+                byEndpoint.computeIfAbsent(name, n -> new Stats()).add(s);
+                all.add(s);
+            });
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        byEndpoint.forEach((name, s) -> endpoints.put(name, s.report(durationSeconds)));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("overall", all.report(durationSeconds));
+        result.put("endpoints", endpoints);
+        System.out.printf("%-9s %8.0f req/s  p50 %6.1f ms  p99 %7.1f ms  errors %d%n", label,
+                all.count / (double) durationSeconds, all.percentile(50), all.percentile(99), all.errors);
+        return result;
+    }
+
+    // One closed-loop user: picks an operation by weight, waits for the response, repeats.
+    // Each client cycles through its own slice of approved passes, so transitions never race.
+    private final class Client {
+        final SplittableRandom random;
+        final int id, clients;
+        final long recordFrom, stopAt;
+        final Map<String, Stats> stats = new HashMap<>();
+        int nextApproved;
+
+        Client(int id, int clients, long recordFrom, long stopAt) {
+            this.random = new SplittableRandom(id);
+            this.id = id;
+            this.clients = clients;
+            this.recordFrom = recordFrom;
+            this.stopAt = stopAt;
+        }
+
+        void loop() {
+            int total = MIX.stream().mapToInt(Op::weight).sum();
+            while (System.nanoTime() < stopAt) {
+                int roll = random.nextInt(total);
+                for (Op op : MIX) {
+                    if ((roll -= op.weight()) >= 0) continue;
+                    perform(op.name());
+                    break;
+                }
+            }
+        }
+
+        void perform(String op) {
+            int s = random.nextInt(students.size());
+            Long tutor = tutors.get(s % tutors.size()), warden = wardens.get(s % wardens.size()), student = students.get(s);
+            switch (op) {
+                case "pendingTutorSummary" -> get(op, "/api/gatepass/pending/tutor/" + tutor + "/summary?size=50");
+                case "pendingWardenPage" -> get(op, "/api/gatepass/pending/warden/" + warden + "/page?size=50");
+                case "tutorHistoryPage" -> get(op, "/api/gatepass/history/tutor/" + tutor + "/page?size=50");
+                case "studentSummary" -> get(op, "/api/gatepass/student/" + student + "/summary?size=50");
+                case "studentPage" -> get(op, "/api/gatepass/student/" + student + "/page?size=50");
+                case "usersByRole" -> get(op, "/api/users/role/TUTOR");
+                case "search" -> get(op, "/api/search/requests?size=20&q=" + SEARCHES[random.nextInt(SEARCHES.length)].replace(" ", "+"));
+                case "modifyAndApprove" -> {
+                    int slice = (approved.size() - id + clients - 1) / clients;
+                    if (slice <= 0) return;
+                    Long pass = approved.get(id + clients * (nextApproved++ % slice));
+                    post("modify", "/api/gatepass/modify/" + pass, "");
+                    post("approve", "/api/gatepass/approve/" + pass + "?role=WARDEN", "");
+                }
+                case "create" -> post(op, "/api/gatepass/request", "{\"studentId\":" + student + ",\"studentName\":\"Load Student\","
+                        + "\"rollNumber\":\"RN" + (100000 + s) + "\",\"mobileNumber\":\"9840012345\",\"department\":\"CSE\",\"year\":2,"
+                        + "\"classSection\":\"A\",\"purpose\":\"Home visit for the weekend\",\"tutorId\":" + tutor + ",\"wardenId\":" + warden + "}");
+                case "login" -> post(op, "/api/auth/login", "{\"username\":\"student" + s + "\",\"password\":\"" + BenchmarkData.PASSWORD + "\"}");
+                default -> throw new IllegalArgumentException(op);
+            }
+        }
+
+        void get(String name, String path) {
+            send(name, HttpRequest.newBuilder(URI.create(base + path)).GET());
+        }
+
+        void post(String name, String path, String json) {
+            send(name, HttpRequest.newBuilder(URI.create(base + path)).header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json)));
+        }
+
+        void send(String name, HttpRequest.Builder request) {
+            long t0 = System.nanoTime();
+            int status;
+            long bytes = 0;
+            try {
+                HttpResponse<byte[]> response = http.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofByteArray());
+                status = response.statusCode();
+                bytes = response.body().length;
+            } catch (Exception e) {
+                status = -1;
+            }
+            long t1 = System.nanoTime();
+            if (t0 >= recordFrom && t1 <= stopAt)
+                stats.computeIfAbsent(name, n -> new Stats()).record(t1 - t0, bytes, status < 200 || status >= 400);
+        }
+    }
+
+    private static final class Stats {
+        long[] latencies = new long[1024];
+        int count;
+        long errors, bytes;
+
+        void record(long nanos, long size, boolean error) {
+            if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+            latencies[count++] = nanos;
+            bytes += size;
+            if (error) errors++;
+        }
+
+        void add(Stats other) {
+            for (int i = 0; i < other.count; i++) record(other.latencies[i], 0, false);
+            bytes += other.bytes;
+            errors += other.errors;
+        }
+
+        double percentile(double p) {
+            if (count == 0) return 0;
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.min(count - 1, Math.ceil(p / 100 * count) - 1)] / 1e6;
+        }
+
+        Map<String, Object> report(int durationSeconds) {
+            Map<String, Object> r = new LinkedHashMap<>();
+            r.put("requests", count);
+            r.put("errors", errors);
+            r.put("throughputPerSecond", round(count / (double) durationSeconds));
+            r.put("p50Ms", round(percentile(50)));
+            r.put("p90Ms", round(percentile(90)));
+            r.put("p99Ms", round(percentile(99)));
+            r.put("p999Ms", round(percentile(99.9)));
+            r.put("maxMs", round(percentile(100)));
+            r.put("meanResponseBytes", count == 0 ? 0 : bytes / count);
+            return r;
+        }
+
+        private static double round(double v) {
+            return Math.round(v * 100) / 100.0;
+        }
+    }
+}
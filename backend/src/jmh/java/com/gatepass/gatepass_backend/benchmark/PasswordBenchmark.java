@@ -0,0 +1,45 @@
+package com.gatepass.gatepass_backend.benchmark;
+
+import com.gatepass.gatepass_backend.service.PasswordService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+// Login throughput per gatepass.security.bcrypt-strength: a login is one bcrypt verify, so
+// this is the ceiling on logins per second at each cost, across all cores. Use it to pick the
+// highest strength the peak-hour login rate still fits under.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Threads(Threads.MAX)
+@Fork(1)
+public class PasswordBenchmark {
+    @Param({"8", "10", "12"})
+    public int strength;
+
+    private PasswordService passwordService;
+    private String stored;
+
+    @Setup
+    public void setUp() {
+        passwordService = new PasswordService(strength, 4);
+        stored = passwordService.hash(BenchmarkData.PASSWORD);
+    }
+
+    @Benchmark
+    public boolean login() {
+        return passwordService.matches(BenchmarkData.PASSWORD, stored);
+    }
+}
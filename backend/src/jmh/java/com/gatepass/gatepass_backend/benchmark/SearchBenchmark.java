@@ -0,0 +1,59 @@
+package com.gatepass.gatepass_backend.benchmark;
+
+import com.gatepass.gatepass_backend.dto.CursorPage;
+import com.gatepass.gatepass_backend.dto.GatePassSummary;
+import com.gatepass.gatepass_backend.dto.UserSummary;
+import com.gatepass.gatepass_backend.service.SearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Search latency distribution (p50/p99 in the results) over a few hundred thousand requests,
+// including hydrating the hits from the database. The queries cover an exact name, a prefix,
+// a two-word match, a one-letter typo and a roll number; the target is under 10 ms at p99.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SearchBenchmark {
+    // Cycled through within one trial, so the index is built once per benchmark method.
+    private static final String[] QUERIES = {"ananya", "anan", "krishnan cse", "krisnan", "rn100123"};
+
+    private ConfigurableApplicationContext context;
+    private SearchService searchService;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApp.seeded("search", BenchmarkApp.requests(300_000), false, Map.of());
+        searchService = context.getBean(SearchService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<GatePassSummary> requests() {
+        return searchService.searchRequests(QUERIES[next++ % QUERIES.length], null, 20);
+    }
+
+    @Benchmark
+    public CursorPage<UserSummary> users() {
+        return searchService.searchUsers(QUERIES[next++ % QUERIES.length], null, 20);
+    }
+}
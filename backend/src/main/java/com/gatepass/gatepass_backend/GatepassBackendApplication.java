@@ -3,10 +3,14 @@ package com.gatepass.gatepass_backend;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @SpringBootApplication
+@EnableScheduling
+@PropertySource("classpath:gatepass-defaults.properties")
 public class GatepassBackendApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(GatepassBackendApplication.class, args);
@@ -0,0 +1,24 @@
+package com.gatepass.gatepass_backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String USERS_BY_ROLE = "usersByRole";
+    public static final String USERS_BY_ID = "usersById";
+
+    // Writes evict explicitly; the TTL only bounds staleness from changes made outside the app.
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager manager = new CaffeineCacheManager(USERS_BY_ROLE, USERS_BY_ID);
+        manager.setCaffeine(Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(Duration.ofMinutes(10)));
+        return manager;
+    }
+}
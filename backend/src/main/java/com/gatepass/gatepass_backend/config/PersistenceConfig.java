@@ -0,0 +1,19 @@
+package com.gatepass.gatepass_backend.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PersistenceConfig {
+    // JDBC batching defaults; they apply even when application.properties only holds the datasource.
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatching() {
+        return props -> {
+            props.putIfAbsent("hibernate.jdbc.batch_size", 50);
+            props.putIfAbsent("hibernate.order_inserts", true);
+            props.putIfAbsent("hibernate.order_updates", true);
+            props.putIfAbsent("hibernate.jdbc.batch_versioned_data", true);
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.gatepass.gatepass_backend.config;
+
+import com.gatepass.gatepass_backend.service.SessionTokenService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import java.util.Optional;
+
+// Checks "Authorization: Bearer <token>" without touching the user table and exposes the
+// session as a request attribute. Requests without the header are still let through.
+@Component
+public class SessionTokenInterceptor implements HandlerInterceptor {
+    public static final String SESSION_ATTRIBUTE = "gatepass.session";
+
+    @Autowired private SessionTokenService sessionTokenService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        String header = request.getHeader("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) return true;
+        Optional<SessionTokenService.Session> session = sessionTokenService.verify(header.substring(7));
+        if (session.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired session token");
+            return false;
+        }
+        request.setAttribute(SESSION_ATTRIBUTE, session.get());
+        return true;
+    }
+}
@@ -0,0 +1,51 @@
+package com.gatepass.gatepass_backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+
+// Streams JFR jdk.VirtualThreadPinned events in-process and logs where a virtual thread
+// got pinned to its carrier, so a regression in the JDBC path shows up in the logs.
+@Component
+@Profile("highconcurrency")
+public class VirtualThreadPinningMonitor {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    @Value("${gatepass.pinning.threshold-ms:20}")
+    private long thresholdMs;
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::report);
+        stream.startAsync();
+    }
+
+    private void report(RecordedEvent e) {
+        String where = "unknown";
+        if (e.getStackTrace() != null) {
+            for (RecordedFrame f : e.getStackTrace().getFrames()) {
+                if (f.isJavaFrame()) {
+                    where = f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber();
+                    break;
+                }
+            }
+        }
+        log.warn("Virtual thread pinned for {} ms at {}", e.getDuration().toMillis(), where);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) stream.close();
+    }
+}
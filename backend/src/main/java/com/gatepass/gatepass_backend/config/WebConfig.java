@@ -0,0 +1,16 @@
+package com.gatepass.gatepass_backend.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    @Autowired private SessionTokenInterceptor sessionTokenInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sessionTokenInterceptor).addPathPatterns("/api/**").excludePathPatterns("/api/auth/**");
+    }
+}
@@ -1,10 +1,26 @@
 package com.gatepass.gatepass_backend.controller;
 
+import com.gatepass.gatepass_backend.dto.ApprovalRate;
+import com.gatepass.gatepass_backend.dto.ApproverLatency;
+import com.gatepass.gatepass_backend.dto.ApproverWorkload;
+import com.gatepass.gatepass_backend.dto.UserImportResult;
+import com.gatepass.gatepass_backend.dto.UserSummary;
+import com.gatepass.gatepass_backend.model.MovementDailyStat;
 import com.gatepass.gatepass_backend.model.User;
 import com.gatepass.gatepass_backend.service.AdminService;
+import com.gatepass.gatepass_backend.service.AnalyticsService;
+import com.gatepass.gatepass_backend.service.ApproverWorkloadService;
+import com.gatepass.gatepass_backend.service.ArchiveService;
+import com.gatepass.gatepass_backend.service.UserImportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -12,10 +28,26 @@ import java.util.List;
 public class AdminController {
     @Autowired
     private AdminService adminService;
+    @Autowired
+    private AnalyticsService analyticsService;
+    @Autowired
+    private ArchiveService archiveService;
+    @Autowired
+    private UserImportService userImportService;
+    @Autowired
+    private ApproverWorkloadService approverWorkloadService;
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<List<UserSummary>> getAllUsers() {
         return ResponseEntity.ok(adminService.getAllUsers());
     }
+    @GetMapping("/users/page")
+    public ResponseEntity<?> pageUsers(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(adminService.pageUsers(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
     @PostMapping("/users")
     public ResponseEntity<?> createUser(@RequestBody User user) {
         try { return ResponseEntity.ok(adminService.createUser(user));
@@ -24,6 +56,21 @@ public class AdminController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+    // Streams a CSV (text/csv, with a header row) or JSON file of users. Pass importId back to
+    // resume an interrupted import; the report lists every rejected row.
+    @PostMapping(value = "/users/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> importUsers(InputStream body, @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                         @RequestParam(required = false) String importId) throws IOException {
+        try {
+            String format = contentType.toLowerCase().startsWith("text/csv") ? "csv" : "json";
+            UserImportResult result = userImportService.importUsers(body, format, importId);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
+        }
+    }
     @PutMapping("/users/{id}")
     public ResponseEntity<?> updateUser(@PathVariable Long id, @RequestBody User user) {
         try {
@@ -41,4 +88,33 @@ public class AdminController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
-}
\ No newline at end of file
+    @GetMapping("/workload")
+    public ResponseEntity<List<ApproverWorkload>> approverWorkload() {
+        return ResponseEntity.ok(approverWorkloadService.workload());
+    }
+    @GetMapping("/analytics/daily")
+    public ResponseEntity<List<MovementDailyStat>> dailyMovement(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                 @RequestParam(required = false) String department) {
+        return ResponseEntity.ok(analyticsService.daily(from, to, department));
+    }
+    @GetMapping("/analytics/approval-rate")
+    public ResponseEntity<List<ApprovalRate>> approvalRate(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(analyticsService.approvalRates(from, to));
+    }
+    @GetMapping("/analytics/approvers")
+    public ResponseEntity<List<ApproverLatency>> approverLatency() {
+        return ResponseEntity.ok(analyticsService.approverLatencies());
+    }
+    @PostMapping("/analytics/backfill")
+    public ResponseEntity<Void> backfillAnalytics() {
+        analyticsService.backfill();
+        return ResponseEntity.ok().build();
+    }
+    // Runs the archival job now instead of waiting for gatepass.archive.cron; returns rows moved.
+    @PostMapping("/archive")
+    public ResponseEntity<Integer> archive() {
+        return ResponseEntity.ok(archiveService.archive());
+    }
+}
@@ -0,0 +1,46 @@
+package com.gatepass.gatepass_backend.controller;
+
+import com.gatepass.gatepass_backend.dto.CursorPage;
+import com.gatepass.gatepass_backend.model.GatePassAuditEvent;
+import com.gatepass.gatepass_backend.service.AuditService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/audit")
+public class AuditController {
+    @Autowired
+    private AuditService auditService;
+    @GetMapping("/request/{id}")
+    public ResponseEntity<List<GatePassAuditEvent>> events(@PathVariable Long id) {
+        return ResponseEntity.ok(auditService.eventsForRequest(id));
+    }
+    @GetMapping("/request/{id}/state")
+    public ResponseEntity<String> state(@PathVariable Long id) {
+        String state = auditService.replayState(id);
+        return state == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(state);
+    }
+    @GetMapping("/history/tutor/{id}")
+    public ResponseEntity<?> tutorHistory(@PathVariable Long id, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return history("TUTOR", id, cursor, size);
+    }
+    @GetMapping("/history/warden/{id}")
+    public ResponseEntity<?> wardenHistory(@PathVariable Long id, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return history("WARDEN", id, cursor, size);
+    }
+    @GetMapping("/replay")
+    public ResponseEntity<Map<String, Long>> replay() {
+        return ResponseEntity.ok(auditService.replayAll());
+    }
+    private ResponseEntity<?> history(String role, Long id, String cursor, Integer size) {
+        try {
+            CursorPage<GatePassAuditEvent> page = auditService.approverHistory(role, id, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -3,7 +3,8 @@ package com.gatepass.gatepass_backend.controller;
 import com.gatepass.gatepass_backend.dto.LoginRequest;
 import com.gatepass.gatepass_backend.dto.LoginResponse;
 import com.gatepass.gatepass_backend.model.User;
-import com.gatepass.gatepass_backend.repository.UserRepository;
+import com.gatepass.gatepass_backend.service.SessionTokenService;
+import com.gatepass.gatepass_backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,13 +13,15 @@ import java.util.Optional;
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
-    @Autowired private UserRepository userRepository;
+    @Autowired private UserService userService;
+    @Autowired private SessionTokenService sessionTokenService;
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest r) {
-        Optional<User> uOpt = userRepository.findByUsername(r.getUsername());
-        if (uOpt.isPresent() && uOpt.get().getPassword().equals(r.getPassword())) {
+        Optional<User> uOpt = userService.authenticate(r.getUsername(), r.getPassword());
+        if (uOpt.isPresent()) {
             User u = uOpt.get();
-            return ResponseEntity.ok(new LoginResponse(u.getId(), u.getName(), u.getRole(), u.getEmail(), u.getPhone()));
+            String token = sessionTokenService.issue(u.getId(), u.getRole());
+            return ResponseEntity.ok(new LoginResponse(u.getId(), u.getName(), u.getRole(), u.getEmail(), u.getPhone(), token));
         }
         return ResponseEntity.status(401).body("Invalid credentials");
     }
@@ -0,0 +1,36 @@
+package com.gatepass.gatepass_backend.controller;
+
+import com.gatepass.gatepass_backend.config.SessionTokenInterceptor;
+import com.gatepass.gatepass_backend.dto.GateScanRequest;
+import com.gatepass.gatepass_backend.dto.GateScanResult;
+import com.gatepass.gatepass_backend.service.GateScanService;
+import com.gatepass.gatepass_backend.service.SessionTokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/gate")
+public class GateController {
+    @Autowired
+    private GateScanService gateScanService;
+    // QR payload for the signed-in student's own approved pass.
+    @GetMapping("/token/{requestId}")
+    public ResponseEntity<String> token(@PathVariable Long requestId,
+                                        @RequestAttribute(name = SessionTokenInterceptor.SESSION_ATTRIBUTE, required = false) SessionTokenService.Session session) {
+        if (session == null) return ResponseEntity.status(401).body("Sign in to get your pass code.");
+        try {
+            return ResponseEntity.ok(gateScanService.issueToken(requestId, session.userId()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(404).body(e.getMessage());
+        }
+    }
+    // First valid scan records the exit, the next one the return. Only guards and admins scan.
+    @PostMapping("/scan")
+    public ResponseEntity<?> scan(@RequestBody GateScanRequest r,
+                                  @RequestAttribute(name = SessionTokenInterceptor.SESSION_ATTRIBUTE, required = false) SessionTokenService.Session session) {
+        if (session == null) return ResponseEntity.status(401).body("Sign in to scan passes.");
+        if (!"SECURITY".equals(session.role()) && !"ADMIN".equals(session.role())) return ResponseEntity.status(403).body("Not allowed.");
+        return ResponseEntity.ok(gateScanService.scan(r.getToken()));
+    }
+}
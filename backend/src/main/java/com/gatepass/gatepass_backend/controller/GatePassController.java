@@ -1,20 +1,47 @@
 package com.gatepass.gatepass_backend.controller;
 
+import com.gatepass.gatepass_backend.dto.BatchTransitionRequest;
+import com.gatepass.gatepass_backend.dto.BatchTransitionResult;
+import com.gatepass.gatepass_backend.dto.CursorPage;
+import com.gatepass.gatepass_backend.dto.ExportFilter;
+import com.gatepass.gatepass_backend.dto.GatePassSummary;
 import com.gatepass.gatepass_backend.model.GatePassRequest;
+import com.gatepass.gatepass_backend.service.ExportService;
+import com.gatepass.gatepass_backend.service.GatePassEventService;
 import com.gatepass.gatepass_backend.service.GatePassService;
+import com.gatepass.gatepass_backend.service.SubmissionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 @RestController
 @RequestMapping("/api/gatepass")
 public class GatePassController {
     @Autowired
     private GatePassService gatePassService;
+    @Autowired
+    private GatePassEventService gatePassEventService;
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private SubmissionService submissionService;
+    // Clients should send a fresh Idempotency-Key per form submission and reuse it on retries;
+    // a repeat gets the original response back, marked with Idempotent-Replayed.
     @PostMapping("/request")
-    public ResponseEntity<GatePassRequest> createRequest(@RequestBody GatePassRequest r) {
-        return ResponseEntity.ok(gatePassService.createRequest(r));
+    public ResponseEntity<GatePassRequest> createRequest(@RequestBody GatePassRequest r,
+                                                         @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        SubmissionService.Submission s = submissionService.submit(r, idempotencyKey);
+        return ResponseEntity.ok().header("Idempotent-Replayed", Boolean.toString(s.replayed())).body(s.request());
     }
     @GetMapping("/approved")
     public ResponseEntity<List<GatePassRequest>> getApproved() {
@@ -45,10 +72,107 @@ public class GatePassController {
     public ResponseEntity<GatePassRequest> modify(@PathVariable Long id) {
         return ResponseEntity.ok(gatePassService.modifyApproval(id));
     }
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTransitionResult> batch(@RequestBody BatchTransitionRequest b) {
+        return ResponseEntity.ok(gatePassService.batchTransition(b));
+    }
     @GetMapping("/student/{id}")
     public ResponseEntity<List<GatePassRequest>> getByStudent(@PathVariable Long id) {
         return ResponseEntity.ok(gatePassService.getRequestsByStudentId(id));
     }
+
+    // Keyset-paginated variants of the list endpoints; pass back nextCursor to get the following page.
+    @GetMapping("/approved/page")
+    public ResponseEntity<CursorPage<GatePassRequest>> pageApproved(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(gatePassService.pageByStatus("APPROVED", cursor, size));
+    }
+    @GetMapping("/pending/tutor/{id}/page")
+    public ResponseEntity<CursorPage<GatePassRequest>> pagePendingTutor(@PathVariable Long id, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(gatePassService.pagePendingForTutor(id, cursor, size));
+    }
+    @GetMapping("/pending/warden/{id}/page")
+    public ResponseEntity<CursorPage<GatePassRequest>> pagePendingWarden(@PathVariable Long id, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(gatePassService.pagePendingForWarden(id, cursor, size));
+    }
+    @GetMapping("/history/tutor/{id}/page")
+    public ResponseEntity<CursorPage<GatePassRequest>> pageHistoryTutor(@PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(gatePassService.pageHistoryForTutor(id, from, to, cursor, size));
+    }
+    @GetMapping("/history/warden/{id}/page")
+    public ResponseEntity<CursorPage<GatePassRequest>> pageHistoryWarden(@PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(gatePassService.pageHistoryForWarden(id, from, to, cursor, size));
+    }
+    @GetMapping("/student/{id}/page")
+    public ResponseEntity<CursorPage<GatePassRequest>> pageByStudent(@PathVariable Long id, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(gatePassService.pageByStudentId(id, cursor, size));
+    }
+    // Summary variants return only id, student name, roll number, status and created time.
+    @GetMapping("/approved/summary")
+    public ResponseEntity<CursorPage<GatePassSummary>> summaryApproved(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(gatePassService.summariesByStatus("APPROVED", cursor, size));
+    }
+    @GetMapping("/pending/tutor/{id}/summary")
+    public ResponseEntity<CursorPage<GatePassSummary>> summaryPendingTutor(@PathVariable Long id, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(gatePassService.pendingSummariesForTutor(id, cursor, size));
+    }
+    @GetMapping("/pending/warden/{id}/summary")
+    public ResponseEntity<CursorPage<GatePassSummary>> summaryPendingWarden(@PathVariable Long id, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(gatePassService.pendingSummariesForWarden(id, cursor, size));
+    }
+    @GetMapping("/student/{id}/summary")
+    public ResponseEntity<CursorPage<GatePassSummary>> summaryByStudent(@PathVariable Long id, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(gatePassService.summariesByStudentId(id, cursor, size));
+    }
+    // Server-Sent Event streams of transitions; EventSource sends Last-Event-ID on reconnect to resume.
+    @GetMapping(value = "/events/tutor/{id}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter tutorEvents(@PathVariable Long id, @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return gatePassEventService.subscribe("tutor:" + id, lastEventId);
+    }
+    @GetMapping(value = "/events/warden/{id}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter wardenEvents(@PathVariable Long id, @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return gatePassEventService.subscribe("warden:" + id, lastEventId);
+    }
+    @GetMapping(value = "/events/student/{id}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter studentEvents(@PathVariable Long id, @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return gatePassEventService.subscribe("student:" + id, lastEventId);
+    }
+    @GetMapping(value = "/events/security", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter securityEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return gatePassEventService.subscribe("security", lastEventId);
+    }
+    // Streams matching rows as CSV or NDJSON; filters are from, to, department, year and status.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(ExportFilter filter, @RequestParam(defaultValue = "csv") String format) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) throw new IllegalArgumentException("Unknown export format: " + format);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=gatepass-history." + (csv ? "csv" : "ndjson"))
+                .body(out -> exportService.export(filter, format, out));
+    }
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+    @ExceptionHandler({IllegalStateException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<String> conflict(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+    @ExceptionHandler(SubmissionService.ThrottledException.class)
+    public ResponseEntity<String> throttled(SubmissionService.ThrottledException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds())).body(e.getMessage());
+    }
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<String> notFound(NoSuchElementException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Request not found.");
+    }
     @DeleteMapping("/request/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         gatePassService.deleteRequest(id); return ResponseEntity.ok().build();
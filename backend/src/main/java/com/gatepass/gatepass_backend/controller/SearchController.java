@@ -0,0 +1,36 @@
+package com.gatepass.gatepass_backend.controller;
+
+import com.gatepass.gatepass_backend.config.SessionTokenInterceptor;
+import com.gatepass.gatepass_backend.service.SearchService;
+import com.gatepass.gatepass_backend.service.SessionTokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Search box endpoints. Pass nextCursor back as cursor for the following page.
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+    @Autowired
+    private SearchService searchService;
+    @GetMapping("/requests")
+    public ResponseEntity<?> searchRequests(@RequestParam String q, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(searchService.searchRequests(q, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    // Results carry contact details and match on email, so only admins may search users.
+    @GetMapping("/users")
+    public ResponseEntity<?> searchUsers(@RequestParam String q, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size,
+                                         @RequestAttribute(name = SessionTokenInterceptor.SESSION_ATTRIBUTE, required = false) SessionTokenService.Session session) {
+        if (session == null) return ResponseEntity.status(401).body("Sign in to search users.");
+        if (!"ADMIN".equals(session.role())) return ResponseEntity.status(403).body("Not allowed.");
+        try {
+            return ResponseEntity.ok(searchService.searchUsers(q, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package com.gatepass.gatepass_backend.controller;
 
+import com.gatepass.gatepass_backend.config.SessionTokenInterceptor;
 import com.gatepass.gatepass_backend.dto.PasswordChangeRequest;
 import com.gatepass.gatepass_backend.dto.UserDto;
 import com.gatepass.gatepass_backend.model.User;
+import com.gatepass.gatepass_backend.service.SessionTokenService;
 import com.gatepass.gatepass_backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 
 @RestController
@@ -15,8 +23,33 @@ public class UserController {
     @Autowired
     private UserService userService;
     @GetMapping("/role/{role}")
-    public ResponseEntity<List<UserDto>> getByRole(@PathVariable String role) {
-        return ResponseEntity.ok(userService.findByRole(role));
+    public ResponseEntity<List<UserDto>> getByRole(@PathVariable String role, WebRequest request) {
+        List<UserDto> users = userService.findByRole(role);
+        String etag = etag(role, users);
+        if (request.checkNotModified(etag)) return null;
+        return ResponseEntity.ok().eTag(etag).body(users);
+    }
+    // SHA-256 over every id and name in order, so it changes whenever the directory does.
+    private static String etag(String role, List<UserDto> users) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (UserDto u : users) digest.update((u.getId() + "\u0000" + u.getName() + "\u0001").getBytes(StandardCharsets.UTF_8));
+            return "\"" + role + "-" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest.digest(), 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    // Contact details are only for the user themselves and admins.
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getById(@PathVariable Long id,
+                                     @RequestAttribute(name = SessionTokenInterceptor.SESSION_ATTRIBUTE, required = false) SessionTokenService.Session session) {
+        if (session == null) return ResponseEntity.status(401).body("Sign in to view user details.");
+        if (!id.equals(session.userId()) && !"ADMIN".equals(session.role())) return ResponseEntity.status(403).body("Not allowed.");
+        try {
+            return ResponseEntity.ok(userService.findSummaryById(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404).body(e.getMessage());
+        }
     }
     @PutMapping("/{id}/profile")
     public ResponseEntity<?> updateProfile(@PathVariable Long id, @RequestBody User details) {
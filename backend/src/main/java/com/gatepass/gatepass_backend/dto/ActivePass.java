@@ -0,0 +1,27 @@
+package com.gatepass.gatepass_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.With;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// An approved pass that has not been used to return yet; entry of the in-memory gate index.
+// Treated as immutable: changes replace the entry. approvedAt is when it entered APPROVED.
+@Data
+@With
+@AllArgsConstructor
+public class ActivePass {
+    private Long id;
+    private Long version;
+    private Long studentId;
+    private String studentName;
+    private String rollNumber;
+    private LocalDateTime approvedAt;
+    private LocalDateTime exitAt;
+
+    // Usable to exit for the window after approval, and to return for the window after exit.
+    public boolean expiredAt(LocalDateTime now, Duration validity) {
+        return (exitAt != null ? exitAt : approvedAt).plus(validity).isBefore(now);
+    }
+}
@@ -0,0 +1,14 @@
+package com.gatepass.gatepass_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ApprovalRate {
+    private String department;
+    private long submitted;
+    private long approved;
+    private long rejected;
+    private double approvalRate; // approved / (approved + rejected)
+}
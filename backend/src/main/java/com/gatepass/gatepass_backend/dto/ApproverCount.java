@@ -0,0 +1,11 @@
+package com.gatepass.gatepass_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ApproverCount {
+    private Long approverId;
+    private long count;
+}
@@ -0,0 +1,13 @@
+package com.gatepass.gatepass_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ApproverLatency {
+    private String role;
+    private Long approverId;
+    private long approvals;
+    private long medianMinutes; // upper bound of the bucket holding the median
+}
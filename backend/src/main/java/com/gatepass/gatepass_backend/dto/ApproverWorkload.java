@@ -0,0 +1,14 @@
+package com.gatepass.gatepass_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ApproverWorkload {
+    private String role;
+    private Long approverId;
+    private String name;
+    private long pending;   // waiting on this approver now
+    private long processed; // moved past this approver's step, archived passes included
+}
@@ -0,0 +1,11 @@
+package com.gatepass.gatepass_backend.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class BatchTransitionRequest {
+    private List<Long> ids;
+    private String action; // APPROVE or REJECT
+    private String role;   // TUTOR or WARDEN
+}
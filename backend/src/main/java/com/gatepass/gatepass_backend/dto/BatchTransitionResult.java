@@ -0,0 +1,12 @@
+package com.gatepass.gatepass_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class BatchTransitionResult {
+    private String toStatus;
+    private Map<Long, String> results; // request id -> UPDATED, CONFLICT or NOT_FOUND
+}
@@ -0,0 +1,17 @@
+package com.gatepass.gatepass_backend.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+import java.time.LocalDateTime;
+
+// Optional filters for the history export; null fields are not applied.
+@Data
+public class ExportFilter {
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from; // inclusive, on created_at
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;   // exclusive
+    private String department;
+    private Integer year;
+    private String status;
+}
@@ -0,0 +1,15 @@
+package com.gatepass.gatepass_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Payload pushed to SSE subscribers; id doubles as the SSE event id used for resume. It is
+// "{epoch}-{sequence}", where the epoch identifies the server process that numbered it.
+@Data
+@AllArgsConstructor
+public class GatePassEvent {
+    private String id;
+    private Long requestId;
+    private String fromStatus;
+    private String toStatus;
+}
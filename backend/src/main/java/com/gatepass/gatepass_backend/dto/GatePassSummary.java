@@ -0,0 +1,18 @@
+package com.gatepass.gatepass_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// Read-only list row, selected with a constructor expression so no entity is managed.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GatePassSummary {
+    private Long id;
+    private String studentName;
+    private String rollNumber;
+    private String status;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,8 @@
+package com.gatepass.gatepass_backend.dto;
+
+import lombok.Data;
+
+@Data
+public class GateScanRequest {
+    private String token;
+}
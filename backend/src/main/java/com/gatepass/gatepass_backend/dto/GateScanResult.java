@@ -0,0 +1,20 @@
+package com.gatepass.gatepass_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class GateScanResult {
+    private String outcome; // EXIT, RETURN or DENIED
+    private String reason;  // set when DENIED
+    private Long requestId;
+    private String studentName;
+    private String rollNumber;
+    private LocalDateTime at;
+
+    public static GateScanResult denied(Long requestId, String reason, LocalDateTime at) {
+        return new GateScanResult("DENIED", reason, requestId, null, null, at);
+    }
+}
@@ -11,4 +11,5 @@ public class LoginResponse {
     private String role;
     private String email;
     private String phone;
+    private String token; // send back as "Authorization: Bearer <token>"
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.gatepass.gatepass_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// What a NotificationSender gets for one outbox row. dedupKey is stable across retries and
+// restarts; senders should pass it to the provider as an idempotency key.
+@Data
+@AllArgsConstructor
+public class OutboundNotification {
+    private Long id;
+    private String dedupKey;
+    private Long recipientId;
+    private String email;
+    private String phone;
+    private String message;
+}
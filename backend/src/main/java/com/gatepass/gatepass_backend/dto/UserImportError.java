@@ -0,0 +1,12 @@
+package com.gatepass.gatepass_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UserImportError {
+    private long row; // 1-based, not counting the CSV header
+    private String username;
+    private String message;
+}
@@ -0,0 +1,18 @@
+package com.gatepass.gatepass_backend.dto;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of one run of a bulk import. Re-sending the same file with this importId resumes
+// after the last committed row.
+@Data
+public class UserImportResult {
+    private String importId;
+    private long skipped;   // rows committed by an earlier run of the same import
+    private long imported;
+    private long failed;
+    private boolean completed;
+    private String error;   // why the run stopped early, when completed is false
+    private List<UserImportError> errors = new ArrayList<>(); // at most the first 1000
+}
@@ -0,0 +1,16 @@
+package com.gatepass.gatepass_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+// One user in a bulk import file. CSV files need a header row naming these columns.
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UserImportRow {
+    private String username;
+    private String password;
+    private String name;
+    private String role;
+    private String email;
+    private String phone;
+}
@@ -0,0 +1,34 @@
+package com.gatepass.gatepass_backend.event;
+
+import com.gatepass.gatepass_backend.model.GatePassRequest;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+// Published by GatePassService on every status change. fromStatus is null for a new
+// request and toStatus is null for a deleted one.
+@Data
+@AllArgsConstructor
+public class GatePassTransition {
+    private Long requestId;
+    private Long studentId;
+    private Long tutorId;
+    private Long wardenId;
+    private String department;
+    private int year;
+    private String classSection;
+    private String fromStatus;
+    private String toStatus;
+    private Long actorId;
+    private String actorRole;
+    private LocalDateTime enteredFromAt; // when the request entered fromStatus; null for a new request
+    private LocalDateTime occurredAt;
+    private LocalDateTime createdAt; // of the request
+
+    public static GatePassTransition of(GatePassRequest r, String fromStatus, String toStatus, Long actorId, String actorRole,
+                                        LocalDateTime enteredFromAt, LocalDateTime occurredAt) {
+        return new GatePassTransition(r.getId(), r.getStudentId(), r.getTutorId(), r.getWardenId(),
+                r.getDepartment(), r.getYear(), r.getClassSection(),
+                fromStatus, toStatus, actorId, actorRole, enteredFromAt, occurredAt, r.getCreatedAt());
+    }
+}
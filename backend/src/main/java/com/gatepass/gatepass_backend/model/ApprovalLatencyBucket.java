@@ -0,0 +1,23 @@
+package com.gatepass.gatepass_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Histogram of how long each approver took to approve, in fixed minute buckets
+// (see AnalyticsService.BUCKET_UPPER_MINUTES), so a median is a read of a few rows.
+@Entity
+@Table(name = "approval_latency_bucket", uniqueConstraints = @UniqueConstraint(name = "uk_alb_key",
+        columnNames = {"role", "approver_id", "bucket"}))
+@Data
+public class ApprovalLatencyBucket {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String role;
+    @Column(name = "approver_id", nullable = false)
+    private Long approverId;
+    private int bucket;
+    private long samples;
+}
@@ -0,0 +1,45 @@
+package com.gatepass.gatepass_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+import java.time.LocalDateTime;
+
+// A finished gate pass moved out of gate_pass_request by ArchiveService. Same columns as
+// GatePassRequest, keeping the original id, so history reads can merge both tables.
+@Entity
+@Immutable
+@Table(name = "gate_pass_request_archive", indexes = {
+        @Index(name = "idx_gpra_student_created", columnList = "student_id, created_at, id"),
+        @Index(name = "idx_gpra_tutor_created", columnList = "tutor_id, created_at, id"),
+        @Index(name = "idx_gpra_warden_created", columnList = "warden_id, created_at, id"),
+        @Index(name = "idx_gpra_created", columnList = "created_at, id")
+})
+@Data
+public class ArchivedGatePassRequest {
+    @Id
+    private Long id;
+
+    private Long studentId;
+    private String studentName;
+    private String rollNumber;
+    private String mobileNumber;
+    private String department;
+    private int year;
+    private String classSection;
+    private String purpose;
+    private String status;
+
+    private Long tutorId;
+    private Long wardenId;
+
+    private Long version;
+    private LocalDateTime statusChangedAt;
+    private LocalDateTime exitAt;
+    private LocalDateTime returnAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
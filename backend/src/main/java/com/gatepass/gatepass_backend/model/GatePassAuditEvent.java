@@ -0,0 +1,38 @@
+package com.gatepass.gatepass_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+import java.time.LocalDateTime;
+
+// One row per gate pass state change. Rows are only ever inserted (by AuditLogWriter).
+@Entity
+@Immutable
+@Table(name = "gate_pass_event", indexes = {
+        @Index(name = "idx_gpe_request", columnList = "request_id, id"),
+        @Index(name = "idx_gpe_tutor", columnList = "tutor_id, id"),
+        @Index(name = "idx_gpe_warden", columnList = "warden_id, id"),
+        @Index(name = "idx_gpe_actor", columnList = "actor_id, id")
+})
+@Data
+public class GatePassAuditEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "request_id", nullable = false)
+    private Long requestId;
+    private Long studentId;
+    @Column(name = "tutor_id")
+    private Long tutorId;
+    @Column(name = "warden_id")
+    private Long wardenId;
+    @Column(name = "actor_id")
+    private Long actorId;
+    private String actorRole;
+    private String fromStatus; // null when the request was created
+    private String toStatus;   // null when the request was deleted
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -5,7 +5,15 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "gate_pass_request")
+@Table(name = "gate_pass_request", indexes = {
+        @Index(name = "idx_gpr_status_created", columnList = "status, created_at, id"),
+        @Index(name = "idx_gpr_tutor_status_created", columnList = "tutor_id, status, created_at, id"),
+        @Index(name = "idx_gpr_warden_status_created", columnList = "warden_id, status, created_at, id"),
+        @Index(name = "idx_gpr_tutor_created", columnList = "tutor_id, created_at, id"),
+        @Index(name = "idx_gpr_warden_created", columnList = "warden_id, created_at, id"),
+        @Index(name = "idx_gpr_created", columnList = "created_at, id"),
+        @Index(name = "idx_gpr_student_created", columnList = "student_id, created_at, id")
+})
 @Data
 public class GatePassRequest {
     @Id
@@ -25,6 +33,22 @@ public class GatePassRequest {
     private Long tutorId;
     private Long wardenId;
 
+    // Bumped by every write, including the conditional status updates in GatePassRequestRepository.
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
+    // When status last changed; null on rows from before this column existed (use createdAt).
+    private LocalDateTime statusChangedAt;
+
+    // Set by gate scans (GateScanService), not by the approval flow.
+    private LocalDateTime exitAt;
+    private LocalDateTime returnAt;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
-}
\ No newline at end of file
+
+    public LocalDateTime enteredStatusAt() {
+        return statusChangedAt != null ? statusChangedAt : createdAt;
+    }
+}
@@ -0,0 +1,44 @@
+package com.gatepass.gatepass_backend.model;
+
+// Lifecycle of a gate pass. The status column stays a plain string holding name(); this
+// enum is the single transition table every write path goes through.
+public enum GatePassStatus {
+    PENDING_TUTOR_APPROVAL,
+    PENDING_WARDEN_APPROVAL,
+    APPROVED,
+    REJECTED;
+
+    public static GatePassStatus of(String status) {
+        try {
+            return valueOf(status);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalStateException("Unknown gate pass status: " + status);
+        }
+    }
+
+    public GatePassStatus approve(String role) {
+        if (this == PENDING_TUTOR_APPROVAL && "TUTOR".equals(role)) return PENDING_WARDEN_APPROVAL;
+        if (this == PENDING_WARDEN_APPROVAL && "WARDEN".equals(role)) return APPROVED;
+        throw illegal("approved by " + role);
+    }
+
+    public GatePassStatus reject() {
+        if (this == PENDING_TUTOR_APPROVAL || this == PENDING_WARDEN_APPROVAL) return REJECTED;
+        throw illegal("rejected");
+    }
+
+    // Sends a decision back one step for reconsideration.
+    public GatePassStatus modify() {
+        if (this == APPROVED) return PENDING_WARDEN_APPROVAL;
+        if (this == PENDING_WARDEN_APPROVAL) return PENDING_TUTOR_APPROVAL;
+        throw illegal("modified");
+    }
+
+    public boolean isDeletable() {
+        return this == PENDING_TUTOR_APPROVAL;
+    }
+
+    private IllegalStateException illegal(String action) {
+        return new IllegalStateException("A request that is " + name() + " cannot be " + action + ".");
+    }
+}
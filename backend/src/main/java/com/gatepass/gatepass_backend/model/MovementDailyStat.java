@@ -0,0 +1,29 @@
+package com.gatepass.gatepass_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDate;
+
+// Rollup of gate pass activity per day, department, year and class section. Maintained by
+// AnalyticsService; missing department/section values are stored as "" so the unique key holds.
+@Entity
+@Table(name = "movement_daily_stat", uniqueConstraints = @UniqueConstraint(name = "uk_mds_key",
+        columnNames = {"stat_date", "department", "year", "class_section"}))
+@Data
+public class MovementDailyStat {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+    @Column(nullable = false)
+    private String department;
+    private int year;
+    @Column(name = "class_section", nullable = false)
+    private String classSection;
+
+    private long submitted;
+    private long approved;
+    private long rejected;
+}
@@ -0,0 +1,41 @@
+package com.gatepass.gatepass_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+// A notification waiting to be delivered, written in the same transaction as the gate pass
+// change that caused it. Rows are inserted and updated with JDBC by NotificationService;
+// the entity exists so the schema is managed with the rest.
+@Entity
+@Table(name = "notification_outbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_outbox_dedup", columnNames = "dedup_key"),
+        indexes = {
+                @Index(name = "idx_outbox_due", columnList = "status, next_attempt_at, id"),
+                @Index(name = "idx_outbox_claim", columnList = "claim_token")
+        })
+@Data
+public class NotificationOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "dedup_key", nullable = false, length = 128)
+    private String dedupKey;
+    private Long requestId;
+    private Long recipientId;
+    @Column(length = 500)
+    private String message;
+
+    private String status; // PENDING, SENT, FAILED (out of attempts), SKIPPED (no email or phone)
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+    private LocalDateTime claimedUntil;
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+}
@@ -1,5 +1,6 @@
 package com.gatepass.gatepass_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
 
@@ -17,6 +18,8 @@ public class User {
     @Column(nullable = false)
     private String username;
 
+    // Holds a bcrypt hash (or legacy plaintext until the next login); never serialized out.
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(nullable = false)
     private String password;
 
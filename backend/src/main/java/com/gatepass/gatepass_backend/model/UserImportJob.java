@@ -0,0 +1,19 @@
+package com.gatepass.gatepass_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+// Checkpoint for a bulk user import; advanced in the same transaction as each inserted chunk.
+@Entity
+@Table(name = "user_import_job")
+@Data
+public class UserImportJob {
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    private long rowsCommitted;
+
+    private LocalDateTime updatedAt;
+}
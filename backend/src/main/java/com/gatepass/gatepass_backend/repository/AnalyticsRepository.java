@@ -0,0 +1,20 @@
+package com.gatepass.gatepass_backend.repository;
+
+import com.gatepass.gatepass_backend.model.ApprovalLatencyBucket;
+import com.gatepass.gatepass_backend.model.MovementDailyStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AnalyticsRepository extends JpaRepository<MovementDailyStat, Long> {
+    @Query("select s from MovementDailyStat s where s.statDate >= :from and s.statDate <= :to"
+            + " and (:department is null or s.department = :department) order by s.statDate, s.department, s.year, s.classSection")
+    List<MovementDailyStat> findDaily(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("department") String department);
+
+    @Query("select b from ApprovalLatencyBucket b order by b.role, b.approverId, b.bucket")
+    List<ApprovalLatencyBucket> findAllLatencyBuckets();
+}
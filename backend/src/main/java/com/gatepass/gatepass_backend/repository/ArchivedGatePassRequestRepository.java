@@ -0,0 +1,48 @@
+package com.gatepass.gatepass_backend.repository;
+
+import com.gatepass.gatepass_backend.dto.GatePassSummary;
+import com.gatepass.gatepass_backend.model.ArchivedGatePassRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Read side of the archive; rows are written only by ArchiveService. Only finished passes are
+// archived, so the history queries need no status filter.
+@org.springframework.stereotype.Repository
+public interface ArchivedGatePassRequestRepository extends Repository<ArchivedGatePassRequest, Long> {
+    List<ArchivedGatePassRequest> findByStudentId(Long studentId);
+    List<ArchivedGatePassRequest> findByTutorId(Long tutorId);
+    List<ArchivedGatePassRequest> findByWardenId(Long wardenId);
+    boolean existsByStudentId(Long studentId);
+    boolean existsByTutorId(Long tutorId);
+    boolean existsByWardenId(Long wardenId);
+
+    @Query("select r from ArchivedGatePassRequest r where r.studentId = :studentId"
+            + " and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))"
+            + " order by r.createdAt desc, r.id desc")
+    List<ArchivedGatePassRequest> pageByStudentId(@Param("studentId") Long studentId, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+
+    @Query("select r from ArchivedGatePassRequest r where r.tutorId = :tutorId and r.createdAt >= :from"
+            + " and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))"
+            + " order by r.createdAt desc, r.id desc")
+    List<ArchivedGatePassRequest> pageByTutorId(@Param("tutorId") Long tutorId, @Param("from") LocalDateTime from, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+
+    @Query("select r from ArchivedGatePassRequest r where r.wardenId = :wardenId and r.createdAt >= :from"
+            + " and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))"
+            + " order by r.createdAt desc, r.id desc")
+    List<ArchivedGatePassRequest> pageByWardenId(@Param("wardenId") Long wardenId, @Param("from") LocalDateTime from, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+
+    @Query("select new com.gatepass.gatepass_backend.dto.GatePassSummary(r.id, r.studentName, r.rollNumber, r.status, r.createdAt)"
+            + " from ArchivedGatePassRequest r where r.studentId = :studentId"
+            + " and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))"
+            + " order by r.createdAt desc, r.id desc")
+    List<GatePassSummary> pageSummariesByStudentId(@Param("studentId") Long studentId, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+
+    @Query("select new com.gatepass.gatepass_backend.dto.GatePassSummary(r.id, r.studentName, r.rollNumber, r.status, r.createdAt)"
+            + " from ArchivedGatePassRequest r where r.id in :ids")
+    List<GatePassSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,29 @@
+package com.gatepass.gatepass_backend.repository;
+
+import com.gatepass.gatepass_backend.model.GatePassAuditEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
+
+// Read-only view of the append-only log; inserts go through AuditLogWriter.
+@org.springframework.stereotype.Repository
+public interface GatePassAuditEventRepository extends Repository<GatePassAuditEvent, Long> {
+    List<GatePassAuditEvent> findByRequestIdOrderByIdAsc(Long requestId);
+
+    @Query("select e from GatePassAuditEvent e where e.tutorId = :tutorId and e.id < :before and e.toStatus is not null"
+            + " and (e.fromStatus = 'PENDING_TUTOR_APPROVAL' or (e.fromStatus = 'PENDING_WARDEN_APPROVAL' and e.toStatus = 'PENDING_TUTOR_APPROVAL'))"
+            + " order by e.id desc")
+    List<GatePassAuditEvent> pageTutorDecisions(@Param("tutorId") Long tutorId, @Param("before") Long before, Pageable page);
+
+    @Query("select e from GatePassAuditEvent e where e.wardenId = :wardenId and e.id < :before"
+            + " and ((e.fromStatus = 'PENDING_WARDEN_APPROVAL' and e.toStatus <> 'PENDING_TUTOR_APPROVAL') or e.fromStatus = 'APPROVED')"
+            + " order by e.id desc")
+    List<GatePassAuditEvent> pageWardenDecisions(@Param("wardenId") Long wardenId, @Param("before") Long before, Pageable page);
+
+    // The log in (request_id, id) order, keyset-paged, so a replay folds one request at a time.
+    @Query("select e from GatePassAuditEvent e where e.requestId > :requestId or (e.requestId = :requestId and e.id > :id)"
+            + " order by e.requestId asc, e.id asc")
+    List<GatePassAuditEvent> readByRequestFrom(@Param("requestId") Long requestId, @Param("id") Long id, Pageable page);
+}
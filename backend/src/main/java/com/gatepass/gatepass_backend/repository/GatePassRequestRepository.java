@@ -1,9 +1,21 @@
 package com.gatepass.gatepass_backend.repository;
 
+import com.gatepass.gatepass_backend.dto.ActivePass;
+import com.gatepass.gatepass_backend.dto.ApproverCount;
+import com.gatepass.gatepass_backend.dto.GatePassSummary;
 import com.gatepass.gatepass_backend.model.GatePassRequest;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface GatePassRequestRepository extends JpaRepository<GatePassRequest, Long> {
@@ -13,4 +25,122 @@ public interface GatePassRequestRepository extends JpaRepository<GatePassRequest
     List<GatePassRequest> findByWardenIdAndStatus(Long wardenId, String status);
     List<GatePassRequest> findByTutorId(Long tutorId);
     List<GatePassRequest> findByWardenId(Long wardenId);
-}
\ No newline at end of file
+    List<GatePassRequest> findByTutorIdAndStatusNot(Long tutorId, String status);
+    List<GatePassRequest> findByWardenIdAndStatusNot(Long wardenId, String status);
+    boolean existsByStudentId(Long studentId);
+    boolean existsByTutorId(Long tutorId);
+    boolean existsByWardenId(Long wardenId);
+
+    // Keyset pages, newest first. The row-value comparison on (created_at, id) is spelled out
+    // so every page is a range scan on the matching composite index, whatever its depth.
+    @Query("select r from GatePassRequest r where r.status = :status"
+            + " and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))"
+            + " order by r.createdAt desc, r.id desc")
+    List<GatePassRequest> pageByStatus(@Param("status") String status, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+
+    @Query("select r from GatePassRequest r where r.tutorId = :tutorId and r.status = :status"
+            + " and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))"
+            + " order by r.createdAt desc, r.id desc")
+    List<GatePassRequest> pageByTutorIdAndStatus(@Param("tutorId") Long tutorId, @Param("status") String status, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+
+    @Query("select r from GatePassRequest r where r.wardenId = :wardenId and r.status = :status"
+            + " and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))"
+            + " order by r.createdAt desc, r.id desc")
+    List<GatePassRequest> pageByWardenIdAndStatus(@Param("wardenId") Long wardenId, @Param("status") String status, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+
+    // History pages are bounded below by :from; the upper date bound is folded into the cursor.
+    @Query("select r from GatePassRequest r where r.tutorId = :tutorId and r.status <> :excluded and r.createdAt >= :from"
+            + " and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))"
+            + " order by r.createdAt desc, r.id desc")
+    List<GatePassRequest> pageByTutorIdAndStatusNot(@Param("tutorId") Long tutorId, @Param("excluded") String excluded, @Param("from") LocalDateTime from, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+
+    // History pages are bounded below by :from; the upper date bound is folded into the cursor.
+    @Query("select r from GatePassRequest r where r.wardenId = :wardenId and r.status <> :excluded and r.createdAt >= :from"
+            + " and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))"
+            + " order by r.createdAt desc, r.id desc")
+    List<GatePassRequest> pageByWardenIdAndStatusNot(@Param("wardenId") Long wardenId, @Param("excluded") String excluded, @Param("from") LocalDateTime from, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+
+    @Query("select r from GatePassRequest r where r.studentId = :studentId"
+            + " and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))"
+            + " order by r.createdAt desc, r.id desc")
+    List<GatePassRequest> pageByStudentId(@Param("studentId") Long studentId, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+
+    // Summary pages select only the list columns into GatePassSummary.
+    @Query("select new com.gatepass.gatepass_backend.dto.GatePassSummary(r.id, r.studentName, r.rollNumber, r.status, r.createdAt)"
+            + " from GatePassRequest r where r.status = :status"
+            + " and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))"
+            + " order by r.createdAt desc, r.id desc")
+    List<GatePassSummary> pageSummariesByStatus(@Param("status") String status, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+
+    @Query("select new com.gatepass.gatepass_backend.dto.GatePassSummary(r.id, r.studentName, r.rollNumber, r.status, r.createdAt)"
+            + " from GatePassRequest r where r.tutorId = :tutorId and r.status = :status"
+            + " and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))"
+            + " order by r.createdAt desc, r.id desc")
+    List<GatePassSummary> pageSummariesByTutorIdAndStatus(@Param("tutorId") Long tutorId, @Param("status") String status, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+
+    @Query("select new com.gatepass.gatepass_backend.dto.GatePassSummary(r.id, r.studentName, r.rollNumber, r.status, r.createdAt)"
+            + " from GatePassRequest r where r.wardenId = :wardenId and r.status = :status"
+            + " and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))"
+            + " order by r.createdAt desc, r.id desc")
+    List<GatePassSummary> pageSummariesByWardenIdAndStatus(@Param("wardenId") Long wardenId, @Param("status") String status, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+
+    @Query("select new com.gatepass.gatepass_backend.dto.GatePassSummary(r.id, r.studentName, r.rollNumber, r.status, r.createdAt)"
+            + " from GatePassRequest r where r.studentId = :studentId"
+            + " and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))"
+            + " order by r.createdAt desc, r.id desc")
+    List<GatePassSummary> pageSummariesByStudentId(@Param("studentId") Long studentId, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+
+    // Compare-and-set transitions: a row only moves if it is still in the expected state,
+    // so concurrent writers never block each other and the loser sees 0 rows updated.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update GatePassRequest r set r.status = :to, r.statusChangedAt = :at, r.version = r.version + 1 where r.id = :id and r.status = :from")
+    int transition(@Param("id") Long id, @Param("from") String from, @Param("to") String to, @Param("at") LocalDateTime at);
+
+    // Batch transitions lock the rows still in the expected state, then move exactly those.
+    // A locking read waits for concurrent writers and sees the latest committed row at any
+    // isolation level, so the rows it returns are the rows the update below moves.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from GatePassRequest r where r.id in :ids and r.status = :status")
+    List<GatePassRequest> lockByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update GatePassRequest r set r.status = :to, r.statusChangedAt = :at, r.version = r.version + 1 where r.id in :ids and r.status = :from")
+    int transitionAll(@Param("ids") Collection<Long> ids, @Param("from") String from, @Param("to") String to, @Param("at") LocalDateTime at);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from GatePassRequest r where r.id = :id and r.status = :status")
+    int deleteByIdAndStatus(@Param("id") Long id, @Param("status") String status);
+
+    @Query("select r.id from GatePassRequest r where r.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.gatepass.gatepass_backend.dto.GatePassSummary(r.id, r.studentName, r.rollNumber, r.status, r.createdAt)"
+            + " from GatePassRequest r where r.id in :ids")
+    List<GatePassSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Pending queue depth per approver, served from the (approver_id, status, ...) indexes.
+    @Query("select new com.gatepass.gatepass_backend.dto.ApproverCount(r.tutorId, count(r)) from GatePassRequest r"
+            + " where r.status = :status and r.tutorId is not null group by r.tutorId")
+    List<ApproverCount> countByTutorForStatus(@Param("status") String status);
+
+    @Query("select new com.gatepass.gatepass_backend.dto.ApproverCount(r.wardenId, count(r)) from GatePassRequest r"
+            + " where r.status = :status and r.wardenId is not null group by r.wardenId")
+    List<ApproverCount> countByWardenForStatus(@Param("status") String status);
+
+    @Query("select new com.gatepass.gatepass_backend.dto.ApproverCount(r.wardenId, count(r)) from GatePassRequest r"
+            + " where r.status in :statuses and r.wardenId is not null group by r.wardenId")
+    List<ApproverCount> countByWardenForStatusIn(@Param("statuses") Collection<String> statuses);
+
+    // Rows for the in-memory gate index: approved passes the student has not come back on,
+    // still inside their validity window (approved, or scanned out, on or after :since).
+    @Query("select new com.gatepass.gatepass_backend.dto.ActivePass(r.id, r.version, r.studentId, r.studentName, r.rollNumber,"
+            + " coalesce(r.statusChangedAt, r.createdAt), r.exitAt)"
+            + " from GatePassRequest r where r.status = 'APPROVED' and r.returnAt is null"
+            + " and (r.exitAt >= :since or (r.exitAt is null and coalesce(r.statusChangedAt, r.createdAt) >= :since))")
+    List<ActivePass> findActivePasses(@Param("since") LocalDateTime since);
+
+    @Query("select new com.gatepass.gatepass_backend.dto.ActivePass(r.id, r.version, r.studentId, r.studentName, r.rollNumber,"
+            + " coalesce(r.statusChangedAt, r.createdAt), r.exitAt)"
+            + " from GatePassRequest r where r.id = :id and r.status = 'APPROVED' and r.returnAt is null")
+    Optional<ActivePass> findActivePass(@Param("id") Long id);
+}
@@ -1,8 +1,14 @@
 package com.gatepass.gatepass_backend.repository;
 
+import com.gatepass.gatepass_backend.dto.UserDto;
+import com.gatepass.gatepass_backend.dto.UserSummary;
 import com.gatepass.gatepass_backend.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +17,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     List<User> findByRole(String role);
+
+    @Query("select new com.gatepass.gatepass_backend.dto.UserDto(u.id, u.name) from User u where u.role = :role")
+    List<UserDto> findDtoByRole(@Param("role") String role);
+
+    @Query("select new com.gatepass.gatepass_backend.dto.UserSummary(u.id, u.username, u.name, u.role, u.email, u.phone) from User u")
+    List<UserSummary> findAllSummaries();
+
+    @Query("select new com.gatepass.gatepass_backend.dto.UserSummary(u.id, u.username, u.name, u.role, u.email, u.phone) from User u where u.id > :after order by u.id")
+    List<UserSummary> pageSummaries(@Param("after") Long after, Pageable page);
+
+    @Query("select new com.gatepass.gatepass_backend.dto.UserSummary(u.id, u.username, u.name, u.role, u.email, u.phone) from User u where u.id = :id")
+    Optional<UserSummary> findSummaryById(@Param("id") Long id);
+
+    @Query("select new com.gatepass.gatepass_backend.dto.UserSummary(u.id, u.username, u.name, u.role, u.email, u.phone) from User u where u.id in :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.gatepass.gatepass_backend.dto.UserSummary(u.id, u.username, u.name, u.role, u.email, u.phone) from User u where u.username in :usernames")
+    List<UserSummary> findSummariesByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    // Set-based uniqueness checks for bulk imports: which of these are already taken.
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findTakenUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findTakenEmails(@Param("emails") Collection<String> emails);
 }
\ No newline at end of file
@@ -1,9 +1,16 @@
 package com.gatepass.gatepass_backend.service;
 
+import com.gatepass.gatepass_backend.config.CacheConfig;
+import com.gatepass.gatepass_backend.dto.CursorPage;
+import com.gatepass.gatepass_backend.dto.UserSummary;
 import com.gatepass.gatepass_backend.model.User;
+import com.gatepass.gatepass_backend.repository.ArchivedGatePassRequestRepository;
 import com.gatepass.gatepass_backend.repository.GatePassRequestRepository;
 import com.gatepass.gatepass_backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
@@ -12,9 +19,28 @@ import java.util.Optional;
 public class AdminService {
     @Autowired private UserRepository userRepository;
     @Autowired private GatePassRequestRepository gatePassRequestRepository;
+    @Autowired private ArchivedGatePassRequestRepository archivedRepository;
+    @Autowired private PasswordService passwordService;
+    @Autowired private SearchService searchService;
 
-    public List<User> getAllUsers() { return userRepository.findAll(); }
+    public List<UserSummary> getAllUsers() { return userRepository.findAllSummaries(); }
 
+    // Users in id order; the cursor is the last id of the previous page.
+    public CursorPage<UserSummary> pageUsers(String cursor, Integer size) {
+        long after;
+        try {
+            after = cursor == null || cursor.isBlank() ? 0 : Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        int limit = size == null ? GatePassService.DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, GatePassService.MAX_PAGE_SIZE));
+        List<UserSummary> rows = userRepository.pageSummaries(after, PageRequest.of(0, limit + 1));
+        if (rows.size() <= limit) return new CursorPage<>(rows, null);
+        List<UserSummary> items = rows.subList(0, limit);
+        return new CursorPage<>(items, String.valueOf(items.get(limit - 1).getId()));
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.USERS_BY_ROLE, allEntries = true)
     public User createUser(User user) {
         if (userRepository.findByUsername(user.getUsername()).isPresent()) {
             throw new IllegalStateException("Username already taken.");
@@ -22,9 +48,19 @@ public class AdminService {
         if (user.getEmail() != null && !user.getEmail().isEmpty() && userRepository.findByEmail(user.getEmail()).isPresent()) {
             throw new IllegalStateException("Email already in use.");
         }
-        return userRepository.save(user);
+        if (user.getPassword() == null || user.getPassword().trim().isEmpty()) {
+            throw new IllegalStateException("Password cannot be empty.");
+        }
+        user.setPassword(passwordService.hash(user.getPassword()));
+        User saved = userRepository.save(user);
+        searchService.indexUser(saved);
+        return saved;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS_BY_ROLE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.USERS_BY_ID, key = "#userId")
+    })
     public User updateUser(Long userId, User userDetails) {
         User existingUser = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
@@ -66,21 +102,32 @@ public class AdminService {
 
         // Only update the password if a new one was provided
         if (userDetails.getPassword() != null && !userDetails.getPassword().trim().isEmpty()) {
-            existingUser.setPassword(userDetails.getPassword());
+            existingUser.setPassword(passwordService.hash(userDetails.getPassword()));
         }
 
-        return userRepository.save(existingUser);
+        User saved = userRepository.save(existingUser);
+        searchService.indexUser(saved);
+        return saved;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS_BY_ROLE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.USERS_BY_ID, key = "#userId")
+    })
     public void deleteUser(Long userId) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
-        boolean hasAssociations = !gatePassRequestRepository.findByStudentId(userId).isEmpty() ||
-                !gatePassRequestRepository.findByTutorId(userId).isEmpty() ||
-                !gatePassRequestRepository.findByWardenId(userId).isEmpty();
+        if (!userRepository.existsById(userId)) throw new RuntimeException("User not found");
+        // Index-backed existence checks that stop at the first match, live table first.
+        boolean hasAssociations = gatePassRequestRepository.existsByStudentId(userId) ||
+                gatePassRequestRepository.existsByTutorId(userId) ||
+                gatePassRequestRepository.existsByWardenId(userId) ||
+                archivedRepository.existsByStudentId(userId) ||
+                archivedRepository.existsByTutorId(userId) ||
+                archivedRepository.existsByWardenId(userId);
         if (hasAssociations) {
             throw new IllegalStateException("Cannot delete user with active gate pass requests.");
         }
         userRepository.deleteById(userId);
+        searchService.removeUser(userId);
     }
 }
 
@@ -0,0 +1,244 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.ApprovalRate;
+import com.gatepass.gatepass_backend.dto.ApproverLatency;
+import com.gatepass.gatepass_backend.event.GatePassTransition;
+import com.gatepass.gatepass_backend.model.ApprovalLatencyBucket;
+import com.gatepass.gatepass_backend.model.MovementDailyStat;
+import com.gatepass.gatepass_backend.repository.AnalyticsRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.gatepass.gatepass_backend.model.GatePassStatus.*;
+
+// Incremental movement analytics. Each committed transition adds to in-memory deltas that
+// are upserted into the rollup tables every few seconds, so approvals never contend on a
+// shared counter row and dashboard reads touch only rollup rows. backfill() rebuilds the
+// rollups from gate_pass_request, its archive and the event log.
+//
+// Both paths count the same thing: a request is "submitted" on the day it was created for
+// as long as it exists, and "approved" or "rejected" on the day it entered that status for
+// as long as it stays there. So deleting a request takes back its submission, and modifying
+// an approved pass takes back the approval (a later re-approval counts on its own day).
+@Service
+public class AnalyticsService {
+    static final long[] BUCKET_UPPER_MINUTES = {1, 2, 5, 10, 15, 30, 60, 120, 240, 480, 720, 1440, 2880, 4320, 10080, Long.MAX_VALUE};
+    // Row-alias upserts (MySQL 8.0.19+), as VALUES() in ON DUPLICATE KEY UPDATE is deprecated.
+    // H2, which the tests run on, only parses the VALUES() form, so it keeps that one.
+    private static final String UPSERT_DAILY = "insert into movement_daily_stat (stat_date, department, year, class_section,"
+            + " submitted, approved, rejected) values (?, ?, ?, ?, ?, ?, ?) as d on duplicate key update"
+            + " submitted = movement_daily_stat.submitted + d.submitted, approved = movement_daily_stat.approved + d.approved,"
+            + " rejected = movement_daily_stat.rejected + d.rejected";
+    private static final String UPSERT_LATENCY = "insert into approval_latency_bucket (role, approver_id, bucket, samples)"
+            + " values (?, ?, ?, ?) as d on duplicate key update samples = approval_latency_bucket.samples + d.samples";
+    private static final String UPSERT_DAILY_H2 = "insert into movement_daily_stat (stat_date, department, year, class_section,"
+            + " submitted, approved, rejected) values (?, ?, ?, ?, ?, ?, ?) on duplicate key update"
+            + " submitted = submitted + values(submitted), approved = approved + values(approved), rejected = rejected + values(rejected)";
+    private static final String UPSERT_LATENCY_H2 = "insert into approval_latency_bucket (role, approver_id, bucket, samples)"
+            + " values (?, ?, ?, ?) on duplicate key update samples = samples + values(samples)";
+    private static final int SUBMITTED = 0, APPROVED_COLUMN = 1, REJECTED_COLUMN = 2;
+
+    private record DayKey(LocalDate day, String department, int year, String classSection) {}
+    private record LatencyKey(String role, Long approverId, int bucket) {}
+
+    // Replaced, not cleared, by backfill(): a listener still holding the old map adds to
+    // deltas the backfill has already counted.
+    private volatile Map<DayKey, long[]> dayDeltas = new ConcurrentHashMap<>(); // {submitted, approved, rejected}
+    private volatile Map<LatencyKey, Long> latencyDeltas = new ConcurrentHashMap<>();
+
+    private String upsertDaily = UPSERT_DAILY, upsertLatency = UPSERT_LATENCY;
+
+    @Autowired private AnalyticsRepository analyticsRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void chooseUpserts() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if ("H2".equals(product)) {
+            upsertDaily = UPSERT_DAILY_H2;
+            upsertLatency = UPSERT_LATENCY_H2;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransition(GatePassTransition t) {
+        String from = t.getFromStatus(), to = t.getToStatus();
+        if (from == null || to == null) {
+            addDay(t, t.getCreatedAt(), SUBMITTED, from == null ? 1 : -1);
+            return;
+        }
+        int undone = decision(from), done = decision(to);
+        if (undone >= 0) addDay(t, t.getEnteredFromAt(), undone, -1);
+        if (done >= 0) addDay(t, t.getOccurredAt(), done, 1);
+        if (APPROVED.name().equals(to))
+            addLatency("WARDEN", t.getWardenId(), t.getEnteredFromAt(), t.getOccurredAt());
+        else if (PENDING_TUTOR_APPROVAL.name().equals(from) && PENDING_WARDEN_APPROVAL.name().equals(to))
+            addLatency("TUTOR", t.getTutorId(), t.getEnteredFromAt(), t.getOccurredAt());
+    }
+
+    private static int decision(String status) {
+        if (APPROVED.name().equals(status)) return APPROVED_COLUMN;
+        if (REJECTED.name().equals(status)) return REJECTED_COLUMN;
+        return -1;
+    }
+
+    private void addDay(GatePassTransition t, LocalDateTime at, int column, int n) {
+        if (at == null) return;
+        DayKey key = new DayKey(at.toLocalDate(), blank(t.getDepartment()), t.getYear(), blank(t.getClassSection()));
+        long[] delta = new long[3];
+        delta[column] = n;
+        dayDeltas.merge(key, delta, (a, b) -> new long[]{a[0] + b[0], a[1] + b[1], a[2] + b[2]});
+    }
+
+    private void addLatency(String role, Long approverId, LocalDateTime entered, LocalDateTime at) {
+        if (approverId == null || entered == null) return;
+        latencyDeltas.merge(new LatencyKey(role, approverId, bucketOf(Duration.between(entered, at).toMinutes())), 1L, Long::sum);
+    }
+
+    static int bucketOf(long minutes) {
+        int i = 0;
+        while (minutes > BUCKET_UPPER_MINUTES[i]) i++;
+        return i;
+    }
+
+    @Scheduled(fixedDelay = 5000)
+    public synchronized void flush() {
+        Map<DayKey, long[]> dayDeltas = this.dayDeltas;
+        List<Object[]> days = new ArrayList<>();
+        for (DayKey k : dayDeltas.keySet()) {
+            long[] d = dayDeltas.remove(k);
+            if (d != null) days.add(new Object[]{k.day(), k.department(), k.year(), k.classSection(), d[0], d[1], d[2]});
+        }
+        Map<LatencyKey, Long> latencyDeltas = this.latencyDeltas;
+        List<Object[]> latencies = new ArrayList<>();
+        for (LatencyKey k : latencyDeltas.keySet()) {
+            Long n = latencyDeltas.remove(k);
+            if (n != null) latencies.add(new Object[]{k.role(), k.approverId(), k.bucket(), n});
+        }
+        if (!days.isEmpty()) jdbcTemplate.batchUpdate(upsertDaily, days);
+        if (!latencies.isEmpty()) jdbcTemplate.batchUpdate(upsertLatency, latencies);
+    }
+
+    public List<MovementDailyStat> daily(LocalDate from, LocalDate to, String department) {
+        return analyticsRepository.findDaily(from, to, department);
+    }
+
+    public List<ApprovalRate> approvalRates(LocalDate from, LocalDate to) {
+        Map<String, long[]> totals = new TreeMap<>();
+        for (MovementDailyStat s : analyticsRepository.findDaily(from, to, null)) {
+            long[] t = totals.computeIfAbsent(s.getDepartment(), k -> new long[3]);
+            t[0] += s.getSubmitted();
+            t[1] += s.getApproved();
+            t[2] += s.getRejected();
+        }
+        List<ApprovalRate> rates = new ArrayList<>();
+        totals.forEach((dept, t) -> rates.add(new ApprovalRate(dept, t[0], t[1], t[2],
+                t[1] + t[2] == 0 ? 0 : (double) t[1] / (t[1] + t[2]))));
+        return rates;
+    }
+
+    public List<ApproverLatency> approverLatencies() {
+        List<ApproverLatency> result = new ArrayList<>();
+        List<ApprovalLatencyBucket> group = new ArrayList<>();
+        for (ApprovalLatencyBucket b : analyticsRepository.findAllLatencyBuckets()) {
+            if (!group.isEmpty() && (!group.get(0).getRole().equals(b.getRole()) || !group.get(0).getApproverId().equals(b.getApproverId()))) {
+                result.add(median(group));
+                group.clear();
+            }
+            group.add(b);
+        }
+        if (!group.isEmpty()) result.add(median(group));
+        return result;
+    }
+
+    private static ApproverLatency median(List<ApprovalLatencyBucket> buckets) {
+        long total = 0;
+        for (ApprovalLatencyBucket b : buckets) total += b.getSamples();
+        long seen = 0, medianMinutes = 0;
+        for (ApprovalLatencyBucket b : buckets) {
+            seen += b.getSamples();
+            if (seen * 2 >= total) {
+                medianMinutes = BUCKET_UPPER_MINUTES[b.getBucket()];
+                break;
+            }
+        }
+        return new ApproverLatency(buckets.get(0).getRole(), buckets.get(0).getApproverId(), total, medianMinutes);
+    }
+
+    // Recomputes both rollups from scratch. Daily counts come from live and archived passes
+    // (decisions are dated by status_changed_at, falling back to created_at for older rows);
+    // latencies come from consecutive events in the audit log. The delta maps are swapped out
+    // before the snapshot is read: what they held was committed before the swap, so the
+    // snapshot covers it and it is dropped; transitions after the swap land in the new maps
+    // and are flushed on top. The snapshot is one repeatable read, so a pass being archived
+    // meanwhile is seen in exactly one of the two tables.
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public synchronized void backfill() {
+        dayDeltas = new ConcurrentHashMap<>();
+        latencyDeltas = new ConcurrentHashMap<>();
+        Map<DayKey, long[]> days = new HashMap<>();
+        for (String table : List.of("gate_pass_request", "gate_pass_request_archive")) {
+            jdbcTemplate.query("select cast(created_at as date), coalesce(department, ''), year, coalesce(class_section, ''), count(*)"
+                    + " from " + table + " group by cast(created_at as date), coalesce(department, ''), year, coalesce(class_section, '')", rs -> {
+                days.computeIfAbsent(new DayKey(rs.getDate(1).toLocalDate(), rs.getString(2), rs.getInt(3), rs.getString(4)), k -> new long[3])[0] += rs.getLong(5);
+            });
+            jdbcTemplate.query("select cast(coalesce(status_changed_at, created_at) as date), coalesce(department, ''), year, coalesce(class_section, ''),"
+                    + " sum(case when status = 'APPROVED' then 1 else 0 end), sum(case when status = 'REJECTED' then 1 else 0 end)"
+                    + " from " + table + " where status in ('APPROVED', 'REJECTED')"
+                    + " group by cast(coalesce(status_changed_at, created_at) as date), coalesce(department, ''), year, coalesce(class_section, '')", rs -> {
+                long[] d = days.computeIfAbsent(new DayKey(rs.getDate(1).toLocalDate(), rs.getString(2), rs.getInt(3), rs.getString(4)), k -> new long[3]);
+                d[1] += rs.getLong(5);
+                d[2] += rs.getLong(6);
+            });
+        }
+
+        Map<LatencyKey, Long> latencies = new HashMap<>();
+        jdbcTemplate.query("select tutor_id, warden_id, from_status, to_status, occurred_at,"
+                + " lag(occurred_at) over (partition by request_id order by id) from gate_pass_event", rs -> {
+            Timestamp prev = rs.getTimestamp(6);
+            if (prev == null) return;
+            String from = rs.getString(3), to = rs.getString(4);
+            long minutes = Duration.between(prev.toLocalDateTime(), rs.getTimestamp(5).toLocalDateTime()).toMinutes();
+            Long approver = null;
+            String role = null;
+            if (PENDING_TUTOR_APPROVAL.name().equals(from) && PENDING_WARDEN_APPROVAL.name().equals(to)) {
+                role = "TUTOR";
+                approver = rs.getObject(1, Long.class);
+            } else if (PENDING_WARDEN_APPROVAL.name().equals(from) && APPROVED.name().equals(to)) {
+                role = "WARDEN";
+                approver = rs.getObject(2, Long.class);
+            }
+            if (approver != null) latencies.merge(new LatencyKey(role, approver, bucketOf(minutes)), 1L, Long::sum);
+        });
+
+        jdbcTemplate.update("delete from movement_daily_stat");
+        jdbcTemplate.update("delete from approval_latency_bucket");
+        List<Object[]> dayRows = new ArrayList<>();
+        days.forEach((k, d) -> dayRows.add(new Object[]{k.day(), k.department(), k.year(), k.classSection(), d[0], d[1], d[2]}));
+        List<Object[]> latencyRows = new ArrayList<>();
+        latencies.forEach((k, n) -> latencyRows.add(new Object[]{k.role(), k.approverId(), k.bucket(), n}));
+        jdbcTemplate.batchUpdate(upsertDaily, dayRows);
+        jdbcTemplate.batchUpdate(upsertLatency, latencyRows);
+    }
+
+    private static String blank(String s) {
+        return s == null ? "" : s;
+    }
+}
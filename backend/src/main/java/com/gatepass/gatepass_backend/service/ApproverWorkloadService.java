@@ -0,0 +1,149 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.ApproverCount;
+import com.gatepass.gatepass_backend.dto.ApproverWorkload;
+import com.gatepass.gatepass_backend.dto.UserDto;
+import com.gatepass.gatepass_backend.event.GatePassTransition;
+import com.gatepass.gatepass_backend.repository.GatePassRequestRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.gatepass.gatepass_backend.model.GatePassStatus.*;
+
+// Per-approver load. The admin view comes from one aggregate query over live and archived
+// passes. Routing uses an in-memory count of open requests per approver, rebuilt from two
+// grouped counts on the metrics refresh interval and adjusted by every transition between
+// refreshes; transitions that land while a refresh is reading are replayed onto its result
+// rather than lost when the maps are replaced. A tutor's open requests are those waiting on
+// the tutor; a warden's are those waiting on either step, since they will all reach the
+// warden.
+@Service
+public class ApproverWorkloadService {
+    private static final Logger log = LoggerFactory.getLogger(ApproverWorkloadService.class);
+    private static final String WORKLOAD = "select u.role, u.id, u.name, coalesce(sum(w.pending), 0), coalesce(sum(w.processed), 0)"
+            + " from user u left join ("
+            + " select 'TUTOR' as role, tutor_id as approver_id,"
+            + "  sum(case when status = 'PENDING_TUTOR_APPROVAL' then 1 else 0 end) as pending,"
+            + "  sum(case when status <> 'PENDING_TUTOR_APPROVAL' then 1 else 0 end) as processed"
+            + "  from gate_pass_request where tutor_id is not null group by tutor_id"
+            + " union all select 'WARDEN', warden_id,"
+            + "  sum(case when status = 'PENDING_WARDEN_APPROVAL' then 1 else 0 end),"
+            + "  sum(case when status in ('APPROVED', 'REJECTED') then 1 else 0 end)"
+            + "  from gate_pass_request where warden_id is not null group by warden_id"
+            + " union all select 'TUTOR', tutor_id, 0, count(*) from gate_pass_request_archive where tutor_id is not null group by tutor_id"
+            + " union all select 'WARDEN', warden_id, 0, count(*) from gate_pass_request_archive where warden_id is not null group by warden_id"
+            + ") w on w.approver_id = u.id and w.role = u.role"
+            + " where u.role in ('TUTOR', 'WARDEN') group by u.role, u.id, u.name order by u.role, u.id";
+
+    private final int maxPendingTutor;
+    private final int maxPendingWarden;
+    private volatile Map<Long, AtomicLong> tutorOpen = new ConcurrentHashMap<>();
+    private volatile Map<Long, AtomicLong> wardenOpen = new ConcurrentHashMap<>();
+    // Deltas seen since the running refresh started; null when none is running. Guarded by lock.
+    private final Object lock = new Object();
+    private Map<Long, AtomicLong> tutorSinceRefresh;
+    private Map<Long, AtomicLong> wardenSinceRefresh;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private GatePassRequestRepository gatePassRequestRepository;
+    @Autowired private UserService userService;
+
+    public ApproverWorkloadService(@Value("${gatepass.routing.max-pending.tutor}") int maxPendingTutor,
+                                   @Value("${gatepass.routing.max-pending.warden}") int maxPendingWarden) {
+        this.maxPendingTutor = maxPendingTutor;
+        this.maxPendingWarden = maxPendingWarden;
+    }
+
+    public List<ApproverWorkload> workload() {
+        return jdbcTemplate.query(WORKLOAD, (rs, i) -> new ApproverWorkload(rs.getString(1), rs.getLong(2), rs.getString(3), rs.getLong(4), rs.getLong(5)));
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${gatepass.metrics.queue-refresh-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void refresh() {
+        synchronized (lock) {
+            tutorSinceRefresh = new ConcurrentHashMap<>();
+            wardenSinceRefresh = new ConcurrentHashMap<>();
+        }
+        Map<Long, AtomicLong> tutors = counts(gatePassRequestRepository.countByTutorForStatus(PENDING_TUTOR_APPROVAL.name()));
+        Map<Long, AtomicLong> wardens = counts(gatePassRequestRepository.countByWardenForStatusIn(List.of(PENDING_TUTOR_APPROVAL.name(), PENDING_WARDEN_APPROVAL.name())));
+        synchronized (lock) {
+            tutorSinceRefresh.forEach((id, delta) -> adjust(tutors, id, delta.get()));
+            wardenSinceRefresh.forEach((id, delta) -> adjust(wardens, id, delta.get()));
+            tutorOpen = tutors;
+            wardenOpen = wardens;
+            tutorSinceRefresh = null;
+            wardenSinceRefresh = null;
+        }
+    }
+
+    private static Map<Long, AtomicLong> counts(List<ApproverCount> rows) {
+        Map<Long, AtomicLong> counts = new ConcurrentHashMap<>();
+        for (ApproverCount c : rows) counts.put(c.getApproverId(), new AtomicLong(c.getCount()));
+        return counts;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransition(GatePassTransition t) {
+        long tutorDelta = tutorOpen(t.getToStatus()) - tutorOpen(t.getFromStatus());
+        long wardenDelta = wardenOpen(t.getToStatus()) - wardenOpen(t.getFromStatus());
+        synchronized (lock) {
+            adjust(tutorOpen, t.getTutorId(), tutorDelta);
+            adjust(wardenOpen, t.getWardenId(), wardenDelta);
+            if (tutorSinceRefresh != null) {
+                adjust(tutorSinceRefresh, t.getTutorId(), tutorDelta);
+                adjust(wardenSinceRefresh, t.getWardenId(), wardenDelta);
+            }
+        }
+    }
+
+    private static int tutorOpen(String status) {
+        return PENDING_TUTOR_APPROVAL.name().equals(status) ? 1 : 0;
+    }
+
+    private static int wardenOpen(String status) {
+        return PENDING_TUTOR_APPROVAL.name().equals(status) || PENDING_WARDEN_APPROVAL.name().equals(status) ? 1 : 0;
+    }
+
+    private static void adjust(Map<Long, AtomicLong> counts, Long approverId, long delta) {
+        if (approverId != null && delta != 0) counts.computeIfAbsent(approverId, k -> new AtomicLong()).addAndGet(delta);
+    }
+
+    // Keeps the approver the student picked unless they already have gatepass.routing.max-pending
+    // open requests (0 turns routing off for that role), in which case the request goes to the
+    // least loaded approver of the role. An unassigned request always goes to the least loaded.
+    public Long route(String role, Long requested) {
+        int limit = "TUTOR".equals(role) ? maxPendingTutor : maxPendingWarden;
+        Map<Long, AtomicLong> open = "TUTOR".equals(role) ? tutorOpen : wardenOpen;
+        if (requested != null && (limit <= 0 || load(open, requested) < limit)) return requested;
+        Long best = requested;
+        long bestLoad = requested == null ? Long.MAX_VALUE : load(open, requested);
+        for (UserDto u : userService.findByRole(role)) {
+            long l = load(open, u.getId());
+            if (l < bestLoad) {
+                best = u.getId();
+                bestLoad = l;
+            }
+        }
+        if (requested != null && !requested.equals(best))
+            log.info("Routed new request from {} {} ({} open) to {} ({} open)", role, requested, load(open, requested), best, bestLoad);
+        return best;
+    }
+
+    private static long load(Map<Long, AtomicLong> open, Long approverId) {
+        AtomicLong n = open.get(approverId);
+        return n == null ? 0 : n.get();
+    }
+}
@@ -0,0 +1,72 @@
+package com.gatepass.gatepass_backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static com.gatepass.gatepass_backend.model.GatePassStatus.APPROVED;
+import static com.gatepass.gatepass_backend.model.GatePassStatus.REJECTED;
+
+// Moves finished gate passes older than gatepass.archive.after-days from gate_pass_request
+// into gate_pass_request_archive, so the live table and its indexes only hold the working
+// set. Each chunk is its own short transaction: lock the chunk, copy it, delete it. Approved
+// passes go by age too, returned or not: the gate only honours a pass for
+// gatepass.gate.pass-valid-days, far less than the archive window. Each status is walked on
+// its own so a chunk is one ordered range of idx_gpr_status_created (status, created_at, id)
+// and the locking read stops after chunk-size rows instead of sorting every eligible one.
+@Service
+public class ArchiveService {
+    private static final String COLUMNS = "id, student_id, student_name, roll_number, mobile_number, department, year, class_section,"
+            + " purpose, status, tutor_id, warden_id, version, status_changed_at, exit_at, return_at, created_at";
+
+    private final int afterDays;
+    private final int chunkSize;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    public ArchiveService(@Value("${gatepass.archive.after-days}") int afterDays, @Value("${gatepass.archive.chunk-size}") int chunkSize) {
+        this.afterDays = afterDays;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${gatepass.archive.cron}")
+    public void scheduledRun() {
+        archive();
+    }
+
+    public synchronized int archive() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(afterDays));
+        int moved = 0, n;
+        for (String status : new String[]{APPROVED.name(), REJECTED.name()}) {
+            do {
+                n = archiveChunk(status, cutoff);
+                moved += n;
+            } while (n == chunkSize);
+        }
+        return moved;
+    }
+
+    private int archiveChunk(String status, Timestamp cutoff) {
+        return transactionTemplate.execute(tx -> {
+            List<Long> ids = jdbcTemplate.queryForList("select id from gate_pass_request where status = ? and created_at < ?"
+                    + " order by created_at, id limit " + chunkSize + " for update", Long.class, status, cutoff);
+            if (ids.isEmpty()) return 0;
+            String in = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            Object[] args = new Object[ids.size() + 1];
+            args[0] = Timestamp.valueOf(LocalDateTime.now());
+            for (int i = 0; i < ids.size(); i++) args[i + 1] = ids.get(i);
+            jdbcTemplate.update("insert into gate_pass_request_archive (" + COLUMNS + ", archived_at) select " + COLUMNS
+                    + ", ? from gate_pass_request where id in (" + in + ")", args);
+            jdbcTemplate.update("delete from gate_pass_request where id in (" + in + ")", ids.toArray());
+            return ids.size();
+        });
+    }
+}
@@ -0,0 +1,133 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.event.GatePassTransition;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Appends committed transitions to gate_pass_event. Approvals only pay for a queue offer;
+// the rows are inserted off the request path as one JDBC batch every 200ms. A batch leaves
+// the queue only once its insert has committed, so a database error delays events rather
+// than dropping them. A batch that fails MAX_ATTEMPTS times in a row is retried one row at
+// a time, and a row the database rejects outright (a constraint violation) is logged and set
+// aside so it cannot hold up everything behind it. The queue holds at most
+// gatepass.audit.max-queued events; beyond that new events are logged and dropped. Events
+// still queued when the process dies are lost, so this is an audit trail rather than the
+// source of truth for delivery (see the notification outbox).
+//
+// At startup every request without any event (rows from before the log existed, or whose
+// events were lost that way) gets a baseline event: from_status null, to_status its current
+// status, actor_role SYSTEM, dated when it entered that status. Replays then start from it.
+@Service
+public class AuditLogWriter {
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+    private static final int MAX_BATCH = 1000;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final String INSERT = "insert into gate_pass_event"
+            + " (request_id, student_id, tutor_id, warden_id, actor_id, actor_role, from_status, to_status, occurred_at)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SEED_BASELINE = "insert into gate_pass_event"
+            + " (request_id, student_id, tutor_id, warden_id, actor_id, actor_role, from_status, to_status, occurred_at)"
+            + " select r.id, r.student_id, r.tutor_id, r.warden_id, null, 'SYSTEM', null, r.status, coalesce(r.status_changed_at, r.created_at)"
+            + " from %s r where r.created_at < ? and not exists (select 1 from gate_pass_event e where e.request_id = r.id)";
+
+    private final Queue<GatePassTransition> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private int failedAttempts; // of the batch at the head of the queue; guarded by flush()
+    // Requests created from here on have their creation event queued in this process.
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    public AuditLogWriter(@Value("${gatepass.audit.max-queued}") int maxQueued) {
+        this.queue = new ArrayBlockingQueue<>(maxQueued);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransition(GatePassTransition t) {
+        if (!queue.offer(t) && dropped.incrementAndGet() % 1000 == 1)
+            log.warn("Audit queue is full; {} events dropped so far, latest for request {}.", dropped.get(), t.getRequestId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedBaseline() {
+        int seeded = 0;
+        for (String table : List.of("gate_pass_request", "gate_pass_request_archive"))
+            seeded += jdbcTemplate.update(SEED_BASELINE.formatted(table), Timestamp.valueOf(startedAt));
+        if (seeded > 0) log.info("Seeded baseline audit events for {} requests with no history.", seeded);
+    }
+
+    @Scheduled(fixedDelay = 200)
+    public synchronized void flush() {
+        while (!queue.isEmpty()) {
+            // This is the only consumer, so the head of the queue is stable until polled.
+            List<GatePassTransition> batch = new ArrayList<>();
+            for (GatePassTransition t : queue) {
+                batch.add(t);
+                if (batch.size() == MAX_BATCH) break;
+            }
+            try {
+                insert(batch);
+            } catch (DataAccessException e) {
+                if (++failedAttempts < MAX_ATTEMPTS) {
+                    log.warn("Writing {} audit events failed; will retry.", batch.size(), e);
+                    return;
+                }
+                failedAttempts = 0;
+                if (!insertOneByOne(batch)) return;
+                continue;
+            }
+            failedAttempts = 0;
+            for (int i = 0; i < batch.size(); i++) queue.poll();
+        }
+    }
+
+    // Polls each row once it is written or set aside; false if the database is failing for
+    // other reasons, leaving the rest at the head of the queue for the next flush.
+    private boolean insertOneByOne(List<GatePassTransition> batch) {
+        for (GatePassTransition t : batch) {
+            try {
+                insert(List.of(t));
+            } catch (DataIntegrityViolationException e) {
+                log.error("Setting aside an audit event the database rejects: {}", t, e);
+            } catch (DataAccessException e) {
+                log.warn("Writing audit events failed; will retry.", e);
+                return false;
+            }
+            queue.poll();
+        }
+        return true;
+    }
+
+    private void insert(List<GatePassTransition> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (GatePassTransition t : batch)
+            rows.add(new Object[]{t.getRequestId(), t.getStudentId(), t.getTutorId(), t.getWardenId(), t.getActorId(),
+                    t.getActorRole(), t.getFromStatus(), t.getToStatus(), Timestamp.valueOf(t.getOccurredAt())});
+        transactionTemplate.executeWithoutResult(tx -> jdbcTemplate.batchUpdate(INSERT, rows));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
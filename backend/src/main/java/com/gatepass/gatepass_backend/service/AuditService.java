@@ -0,0 +1,76 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.CursorPage;
+import com.gatepass.gatepass_backend.model.GatePassAuditEvent;
+import com.gatepass.gatepass_backend.repository.GatePassAuditEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Reads and replays the append-only gate pass event log.
+@Service
+public class AuditService {
+    private static final int REPLAY_CHUNK = 5000;
+
+    @Autowired private GatePassAuditEventRepository auditEventRepository;
+
+    public List<GatePassAuditEvent> eventsForRequest(Long requestId) {
+        return auditEventRepository.findByRequestIdOrderByIdAsc(requestId);
+    }
+
+    // Current state of one request as the log sees it; null if it was deleted or never logged
+    // (requests older than the log have a baseline event once AuditLogWriter has seeded it).
+    public String replayState(Long requestId) {
+        String state = null;
+        for (GatePassAuditEvent e : auditEventRepository.findByRequestIdOrderByIdAsc(requestId)) state = e.getToStatus();
+        return state;
+    }
+
+    // Decisions taken by an approver, newest first, paged on the event id.
+    public CursorPage<GatePassAuditEvent> approverHistory(String role, Long approverId, String cursor, Integer size) {
+        int limit = size == null ? GatePassService.DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, GatePassService.MAX_PAGE_SIZE));
+        long before;
+        try {
+            before = cursor == null || cursor.isBlank() ? Long.MAX_VALUE : Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<GatePassAuditEvent> rows;
+        if ("TUTOR".equals(role)) rows = auditEventRepository.pageTutorDecisions(approverId, before, page);
+        else if ("WARDEN".equals(role)) rows = auditEventRepository.pageWardenDecisions(approverId, before, page);
+        else throw new IllegalArgumentException("Unknown role: " + role);
+        if (rows.size() <= limit) return new CursorPage<>(rows, null);
+        List<GatePassAuditEvent> items = rows.subList(0, limit);
+        return new CursorPage<>(items, String.valueOf(items.get(limit - 1).getId()));
+    }
+
+    // Folds the log one request at a time, in (request_id, id) order, to rebuild every
+    // request's current status, and returns how many requests end up in each status. Only the
+    // request being folded is held in memory. Requests from before the log existed are
+    // covered by the baseline events AuditLogWriter seeds at startup.
+    public Map<String, Long> replayAll() {
+        Map<String, Long> counts = new TreeMap<>();
+        Long request = null;
+        String state = null;
+        long afterRequest = 0, afterId = 0;
+        List<GatePassAuditEvent> chunk;
+        do {
+            chunk = auditEventRepository.readByRequestFrom(afterRequest, afterId, PageRequest.of(0, REPLAY_CHUNK));
+            for (GatePassAuditEvent e : chunk) {
+                if (!e.getRequestId().equals(request)) {
+                    if (state != null) counts.merge(state, 1L, Long::sum);
+                    request = e.getRequestId();
+                }
+                state = e.getToStatus();
+                afterRequest = e.getRequestId();
+                afterId = e.getId();
+            }
+        } while (chunk.size() == REPLAY_CHUNK);
+        if (state != null) counts.merge(state, 1L, Long::sum);
+        return counts;
+    }
+}
@@ -0,0 +1,17 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.config.SessionTokenInterceptor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+// The signed-in user of the current HTTP request, if it carried a session token.
+final class CurrentActor {
+    private CurrentActor() {}
+
+    static SessionTokenService.Session get() {
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        if (attrs == null) return null;
+        Object session = attrs.getAttribute(SessionTokenInterceptor.SESSION_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return session instanceof SessionTokenService.Session s ? s : null;
+    }
+}
@@ -0,0 +1,176 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.gatepass.gatepass_backend.dto.ExportFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streams gate pass history as CSV or NDJSON. Rows are read in keyset chunks on
+// (created_at, id), written straight from the ResultSet and flushed to the client after each
+// chunk, so memory use depends on the chunk size and not on how many rows match, and no
+// connection is held for the whole export. CSV text cells that a spreadsheet would run as a
+// formula (leading = + - @, tab or carriage return) are prefixed with a single quote.
+// The live table is exported first, then the archive, each in (created_at, id) order. Rows
+// only ever move from live to archive, so a row archived while the export runs is still
+// read from one side or the other; it may appear twice, never not at all.
+@Service
+public class ExportService {
+    static final int CHUNK_SIZE = 2000;
+    private static final String COLUMNS = "id, student_id, student_name, roll_number, mobile_number, department, year,"
+            + " class_section, purpose, status, tutor_id, warden_id, created_at, exit_at, return_at";
+    private static final String[] HEADER = COLUMNS.split(",\\s*");
+    private static final JsonFactory JSON = new JsonFactory();
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    public void export(ExportFilter f, String format, OutputStream out) throws IOException {
+        RowWriter writer = switch (format == null ? "csv" : format.toLowerCase()) {
+            case "csv" -> new CsvWriter(out);
+            case "ndjson" -> new NdjsonWriter(out);
+            default -> throw new IllegalArgumentException("Unknown export format: " + format);
+        };
+        StringBuilder where = new StringBuilder("1 = 1");
+        List<Object> filterArgs = new ArrayList<>();
+        if (f.getFrom() != null) { where.append(" and created_at >= ?"); filterArgs.add(Timestamp.valueOf(f.getFrom())); }
+        if (f.getTo() != null) { where.append(" and created_at < ?"); filterArgs.add(Timestamp.valueOf(f.getTo())); }
+        if (f.getDepartment() != null) { where.append(" and department = ?"); filterArgs.add(f.getDepartment()); }
+        if (f.getYear() != null) { where.append(" and year = ?"); filterArgs.add(f.getYear()); }
+        if (f.getStatus() != null) { where.append(" and status = ?"); filterArgs.add(f.getStatus()); }
+        writer.header();
+        for (String table : List.of("gate_pass_request", "gate_pass_request_archive"))
+            exportTable(table, where.toString(), filterArgs, writer);
+        writer.finish();
+    }
+
+    private void exportTable(String table, String where, List<Object> filterArgs, RowWriter writer) throws IOException {
+        String sql = "select " + COLUMNS + " from " + table + " where " + where
+                + " and (created_at > ? or (created_at = ? and id > ?)) order by created_at, id limit " + CHUNK_SIZE;
+        Timestamp lastCreated = Timestamp.valueOf(LocalDateTime.of(1970, 1, 1, 0, 0));
+        long lastId = 0;
+        int[] count = new int[1];
+        Object[] last = new Object[2];
+        do {
+            count[0] = 0;
+            List<Object> args = new ArrayList<>(filterArgs);
+            args.add(lastCreated);
+            args.add(lastCreated);
+            args.add(lastId);
+            jdbcTemplate.query(sql, rs -> {
+                writer.row(rs);
+                last[0] = rs.getTimestamp("created_at");
+                last[1] = rs.getLong("id");
+                count[0]++;
+            }, args.toArray());
+            if (count[0] > 0) {
+                lastCreated = (Timestamp) last[0];
+                lastId = (Long) last[1];
+                writer.flush();
+            }
+        } while (count[0] == CHUNK_SIZE);
+    }
+
+    private interface RowWriter {
+        void header() throws IOException;
+        void row(ResultSet rs) throws SQLException;
+        void flush() throws IOException;
+        void finish() throws IOException;
+    }
+
+    private static final class CsvWriter implements RowWriter {
+        private final Writer w;
+
+        CsvWriter(OutputStream out) {
+            w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        public void header() throws IOException {
+            w.write(String.join(",", HEADER));
+            w.write('\n');
+        }
+
+        public void row(ResultSet rs) throws SQLException {
+            try {
+                for (int i = 1; i <= HEADER.length; i++) {
+                    if (i > 1) w.write(',');
+                    Object v = rs.getObject(i);
+                    if (v instanceof Timestamp t) w.write(t.toLocalDateTime().toString());
+                    else if (v instanceof Number n) w.write(n.toString());
+                    else if (v != null) w.write(escape(v.toString()));
+                }
+                w.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        public void flush() throws IOException {
+            w.flush();
+        }
+
+        public void finish() throws IOException {
+            w.flush();
+        }
+
+        private static String escape(String v) {
+            if (!v.isEmpty() && "=+-@\t\r".indexOf(v.charAt(0)) >= 0) v = "'" + v;
+            if (v.indexOf(',') < 0 && v.indexOf('"') < 0 && v.indexOf('\n') < 0 && v.indexOf('\r') < 0) return v;
+            return '"' + v.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private static final class NdjsonWriter implements RowWriter {
+        private final JsonGenerator g;
+        private boolean any;
+
+        NdjsonWriter(OutputStream out) throws IOException {
+            g = JSON.createGenerator(out);
+            g.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        public void header() {
+        }
+
+        public void row(ResultSet rs) throws SQLException {
+            try {
+                g.writeStartObject();
+                for (int i = 1; i <= HEADER.length; i++) {
+                    Object v = rs.getObject(i);
+                    g.writeFieldName(HEADER[i - 1]);
+                    if (v == null) g.writeNull();
+                    else if (v instanceof Number n) g.writeNumber(n.longValue());
+                    else if (v instanceof Timestamp t) g.writeString(t.toLocalDateTime().toString());
+                    else g.writeString(v.toString());
+                }
+                g.writeEndObject();
+                any = true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        public void flush() throws IOException {
+            g.flush();
+        }
+
+        public void finish() throws IOException {
+            if (any) g.writeRaw('\n');
+            g.flush();
+        }
+    }
+}
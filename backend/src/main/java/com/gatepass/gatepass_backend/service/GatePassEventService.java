@@ -0,0 +1,181 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.GatePassEvent;
+import com.gatepass.gatepass_backend.event.GatePassTransition;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Pushes gate pass transitions to dashboards over Server-Sent Events. Subscribers are
+// scoped to "tutor:{id}", "warden:{id}", "student:{id}" or "security".
+// A single dispatcher thread numbers events, owns the replay buffer and hands each event to
+// every subscriber's own bounded queue, so event order is the same for all subscribers.
+// Sends happen on virtual threads, one drain per subscriber at a time; a subscriber that
+// falls QUEUE_SIZE events behind is disconnected and resumes from the replay buffer.
+// Event ids carry a per-process epoch, so a Last-Event-ID from before a restart (or from
+// another instance) is never mistaken for a recent one. When the events after it are no
+// longer buffered the subscriber gets a "reset" event and should reload instead.
+@Service
+public class GatePassEventService {
+    private static final int REPLAY_BUFFER_SIZE = 1000;
+    private static final int QUEUE_SIZE = 256;
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36) + Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36), 36);
+    private long sequence; // dispatcher thread only
+    private final Deque<ScopedEvent> recent = new ArrayDeque<>(); // dispatcher thread only
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "gatepass-sse");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("gatepass-sse-send-", 0).factory());
+
+    private record ScopedEvent(List<String> scopes, long sequence, GatePassEvent event) {}
+
+    public SseEmitter subscribe(String scope, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(emitter);
+        Set<Subscriber> scoped = subscribers.computeIfAbsent(scope, k -> ConcurrentHashMap.newKeySet());
+        emitter.onCompletion(() -> scoped.remove(subscriber));
+        emitter.onTimeout(() -> scoped.remove(subscriber));
+        emitter.onError(e -> scoped.remove(subscriber));
+        // Replay and registration run on the dispatcher so no event is missed or sent twice.
+        dispatcher.execute(() -> {
+            if (lastEventId != null) {
+                long after = resumeAfter(lastEventId);
+                if (after < 0) {
+                    if (!subscriber.offer(SseEmitter.event().name("reset").data(""))) return;
+                } else {
+                    for (ScopedEvent e : recent) {
+                        if (e.sequence() > after && e.scopes().contains(scope) && !subscriber.offer(transition(e.event()))) return;
+                    }
+                }
+            }
+            scoped.add(subscriber);
+        });
+        return emitter;
+    }
+
+    // The sequence to resume after, or -1 if the events since lastEventId are not all buffered.
+    private long resumeAfter(String lastEventId) {
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash < 0 || !lastEventId.substring(0, dash).equals(epoch)) return -1;
+        long after;
+        try {
+            after = Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        long oldest = recent.isEmpty() ? sequence + 1 : recent.peekFirst().sequence();
+        return after >= oldest - 1 && after <= sequence ? after : -1;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransition(GatePassTransition t) {
+        List<String> scopes = scopesOf(t);
+        dispatcher.execute(() -> {
+            // Ids are assigned here so the replay buffer is always in id order.
+            long seq = ++sequence;
+            GatePassEvent event = new GatePassEvent(epoch + "-" + seq, t.getRequestId(), t.getFromStatus(), t.getToStatus());
+            recent.addLast(new ScopedEvent(scopes, seq, event));
+            if (recent.size() > REPLAY_BUFFER_SIZE) recent.removeFirst();
+            for (String scope : scopes) {
+                Set<Subscriber> scoped = subscribers.get(scope);
+                if (scoped == null) continue;
+                scoped.removeIf(subscriber -> !subscriber.offer(transition(event)));
+            }
+        });
+    }
+
+    private static List<String> scopesOf(GatePassTransition t) {
+        List<String> scopes = new ArrayList<>(4);
+        if (t.getTutorId() != null) scopes.add("tutor:" + t.getTutorId());
+        if (t.getWardenId() != null) scopes.add("warden:" + t.getWardenId());
+        if (t.getStudentId() != null) scopes.add("student:" + t.getStudentId());
+        if ("APPROVED".equals(t.getFromStatus()) || "APPROVED".equals(t.getToStatus())) scopes.add("security");
+        return scopes;
+    }
+
+    private static SseEmitter.SseEventBuilder transition(GatePassEvent event) {
+        return SseEmitter.event().id(event.getId()).name("transition").data(event);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(scoped -> scoped.forEach(s -> s.emitter.complete()));
+    }
+
+    // One connection: events queue here and a single drain at a time sends them in order.
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final Queue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+        volatile Throwable error;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // False once the subscriber is gone or too far behind; it is then completed.
+        boolean offer(SseEmitter.SseEventBuilder event) {
+            if (closed) return false;
+            if (!queue.offer(event)) {
+                close(null);
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) senders.execute(this::drain);
+            return true;
+        }
+
+        void drain() {
+            do {
+                for (SseEmitter.SseEventBuilder e; !closed && (e = queue.poll()) != null; ) {
+                    try {
+                        emitter.send(e);
+                    } catch (IOException | IllegalStateException ex) {
+                        close(ex);
+                    }
+                }
+                if (closed) {
+                    finish();
+                    return;
+                }
+                draining.set(false);
+            } while ((closed || !queue.isEmpty()) && draining.compareAndSet(false, true));
+        }
+
+        // Completing the emitter waits for any send in progress, so while a drain is running
+        // the drain completes it; otherwise a stalled client would hold up the dispatcher.
+        void close(Throwable error) {
+            this.error = error;
+            closed = true;
+            queue.clear();
+            if (draining.compareAndSet(false, true)) finish();
+        }
+
+        void finish() {
+            if (error != null) emitter.completeWithError(error);
+            else emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.ApproverCount;
+import com.gatepass.gatepass_backend.event.GatePassTransition;
+import com.gatepass.gatepass_backend.repository.GatePassRequestRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.gatepass.gatepass_backend.model.GatePassStatus.*;
+
+// Gate pass business metrics. Endpoint and repository latencies come from the actuator's
+// http.server.requests and spring.data.repository.invocations timers (see gatepass-defaults.properties).
+@Service
+public class GatePassMetrics {
+    private final Counter submitted, tutorApproved, wardenApproved, rejected, modified, deleted;
+    private final MultiGauge tutorQueue, wardenQueue;
+
+    @Autowired private GatePassRequestRepository gatePassRequestRepository;
+
+    public GatePassMetrics(MeterRegistry registry) {
+        submitted = transitions(registry, "submitted");
+        tutorApproved = transitions(registry, "tutor-approved");
+        wardenApproved = transitions(registry, "warden-approved");
+        rejected = transitions(registry, "rejected");
+        modified = transitions(registry, "modified");
+        deleted = transitions(registry, "deleted");
+        tutorQueue = MultiGauge.builder("gatepass.queue.depth").tag("role", "TUTOR")
+                .description("Requests waiting on each approver").register(registry);
+        wardenQueue = MultiGauge.builder("gatepass.queue.depth").tag("role", "WARDEN")
+                .description("Requests waiting on each approver").register(registry);
+    }
+
+    private static Counter transitions(MeterRegistry registry, String type) {
+        return Counter.builder("gatepass.transitions").tag("type", type)
+                .description("Gate pass state transitions").register(registry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransition(GatePassTransition t) {
+        String from = t.getFromStatus(), to = t.getToStatus();
+        if (from == null) submitted.increment();
+        else if (to == null) deleted.increment();
+        else if (REJECTED.name().equals(to)) rejected.increment();
+        else if (PENDING_TUTOR_APPROVAL.name().equals(from) && PENDING_WARDEN_APPROVAL.name().equals(to)) tutorApproved.increment();
+        else if (PENDING_WARDEN_APPROVAL.name().equals(from) && APPROVED.name().equals(to)) wardenApproved.increment();
+        else modified.increment();
+    }
+
+    // One grouped count per role per refresh, instead of a query per approver per scrape.
+    @Scheduled(fixedDelayString = "${gatepass.metrics.queue-refresh-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void refreshQueueDepth() {
+        tutorQueue.register(rows(gatePassRequestRepository.countByTutorForStatus(PENDING_TUTOR_APPROVAL.name())), true);
+        wardenQueue.register(rows(gatePassRequestRepository.countByWardenForStatus(PENDING_WARDEN_APPROVAL.name())), true);
+    }
+
+    private static List<MultiGauge.Row<?>> rows(List<ApproverCount> counts) {
+        return counts.stream()
+                .<MultiGauge.Row<?>>map(c -> MultiGauge.Row.of(Tags.of("approver", String.valueOf(c.getApproverId())), c.getCount()))
+                .toList();
+    }
+}
@@ -1,60 +1,261 @@
 package com.gatepass.gatepass_backend.service;
+import com.gatepass.gatepass_backend.dto.BatchTransitionRequest;
+import com.gatepass.gatepass_backend.dto.BatchTransitionResult;
+import com.gatepass.gatepass_backend.dto.CursorPage;
+import com.gatepass.gatepass_backend.dto.GatePassSummary;
+import com.gatepass.gatepass_backend.dto.PageCursor;
+import com.gatepass.gatepass_backend.event.GatePassTransition;
+import com.gatepass.gatepass_backend.model.ArchivedGatePassRequest;
 import com.gatepass.gatepass_backend.model.GatePassRequest;
+import com.gatepass.gatepass_backend.model.GatePassStatus;
+import com.gatepass.gatepass_backend.repository.ArchivedGatePassRequestRepository;
 import com.gatepass.gatepass_backend.repository.GatePassRequestRepository;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import static com.gatepass.gatepass_backend.model.GatePassStatus.PENDING_TUTOR_APPROVAL;
+import static com.gatepass.gatepass_backend.model.GatePassStatus.PENDING_WARDEN_APPROVAL;
 
 @Service
 public class GatePassService {
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    static final int MAX_BATCH_SIZE = 500;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final Comparator<GatePassRequest> NEWEST_REQUEST_FIRST =
+            Comparator.comparing(GatePassRequest::getCreatedAt).thenComparing(GatePassRequest::getId).reversed();
+    private static final Comparator<GatePassSummary> NEWEST_SUMMARY_FIRST =
+            Comparator.comparing(GatePassSummary::getCreatedAt).thenComparing(GatePassSummary::getId).reversed();
     @Autowired
     private GatePassRequestRepository gatePassRequestRepository;
+    @Autowired
+    private ArchivedGatePassRequestRepository archivedRepository;
+    @Autowired
+    private ApplicationEventPublisher events;
+    @Autowired
+    private ApproverWorkloadService approverWorkloadService;
+    @Transactional
     public GatePassRequest createRequest(GatePassRequest r) {
-        r.setStatus("PENDING_TUTOR_APPROVAL");
-        return gatePassRequestRepository.save(r);
+        r.setTutorId(approverWorkloadService.route("TUTOR", r.getTutorId()));
+        r.setWardenId(approverWorkloadService.route("WARDEN", r.getWardenId()));
+        r.setStatus(PENDING_TUTOR_APPROVAL.name());
+        r.setStatusChangedAt(r.getCreatedAt());
+        GatePassRequest saved = gatePassRequestRepository.save(r);
+        events.publishEvent(transitionEvent(saved, null, saved.getStatus(), null, saved.getCreatedAt()));
+        return saved;
     }
     public List<GatePassRequest> getRequestsByStatus(String s) {
         return gatePassRequestRepository.findByStatus(s);
     }
     public List<GatePassRequest> getPendingRequestsForTutor(Long id) {
-        return gatePassRequestRepository.findByTutorIdAndStatus(id, "PENDING_TUTOR_APPROVAL");
+        return gatePassRequestRepository.findByTutorIdAndStatus(id, PENDING_TUTOR_APPROVAL.name());
     }
     public List<GatePassRequest> getPendingRequestsForWarden(Long id) {
-        return gatePassRequestRepository.findByWardenIdAndStatus(id, "PENDING_WARDEN_APPROVAL");
+        return gatePassRequestRepository.findByWardenIdAndStatus(id, PENDING_WARDEN_APPROVAL.name());
     }
     public List<GatePassRequest> getHistoryForTutor(Long id) {
-        return gatePassRequestRepository.findByTutorId(id).stream().filter(r -> !r.getStatus().equals("PENDING_TUTOR_APPROVAL")).collect(Collectors.toList());
+        return withArchived(gatePassRequestRepository.findByTutorIdAndStatusNot(id, PENDING_TUTOR_APPROVAL.name()), archivedRepository.findByTutorId(id));
     }
     public List<GatePassRequest> getHistoryForWarden(Long id) {
-        return gatePassRequestRepository.findByWardenId(id).stream().filter(r -> !r.getStatus().equals("PENDING_WARDEN_APPROVAL")).collect(Collectors.toList());
+        return withArchived(gatePassRequestRepository.findByWardenIdAndStatusNot(id, PENDING_WARDEN_APPROVAL.name()), archivedRepository.findByWardenId(id));
     }
+    @Transactional
     public GatePassRequest approveRequest(Long id, String role) {
-        GatePassRequest r = gatePassRequestRepository.findById(id).orElseThrow();
-        if (role.equals("TUTOR"))
-            r.setStatus("PENDING_WARDEN_APPROVAL");
-        else if (role.equals("WARDEN"))
-            r.setStatus("APPROVED");
-        return gatePassRequestRepository.save(r);
+        return transition(id, s -> s.approve(role));
     }
+    @Transactional
     public GatePassRequest rejectRequest(Long id) {
-        GatePassRequest r = gatePassRequestRepository.findById(id).orElseThrow();
-        r.setStatus("REJECTED"); return gatePassRequestRepository.save(r);
+        return transition(id, GatePassStatus::reject);
     }
+    @Transactional
     public GatePassRequest modifyApproval(Long id) {
-        GatePassRequest r = gatePassRequestRepository.findById(id).orElseThrow();
-        if (r.getStatus().equals("APPROVED"))
-            r.setStatus("PENDING_WARDEN_APPROVAL");
-        else if (r.getStatus().equals("PENDING_WARDEN_APPROVAL"))
-            r.setStatus("PENDING_TUTOR_APPROVAL");
-        return gatePassRequestRepository.save(r); }
+        return transition(id, GatePassStatus::modify);
+    }
+    @Transactional
+    public BatchTransitionResult batchTransition(BatchTransitionRequest b) {
+        if (b.getIds() == null || b.getIds().isEmpty()) throw new IllegalArgumentException("No request ids given.");
+        if (b.getIds().size() > MAX_BATCH_SIZE) throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " requests per batch.");
+        GatePassStatus from;
+        if ("TUTOR".equals(b.getRole())) from = PENDING_TUTOR_APPROVAL;
+        else if ("WARDEN".equals(b.getRole())) from = PENDING_WARDEN_APPROVAL;
+        else throw new IllegalArgumentException("Unknown role: " + b.getRole());
+        GatePassStatus to;
+        if ("REJECT".equals(b.getAction())) to = from.reject();
+        else if ("APPROVE".equals(b.getAction())) to = from.approve(b.getRole());
+        else throw new IllegalArgumentException("Unknown action: " + b.getAction());
+
+        // The locked rows are the winners: a concurrent single transition either committed
+        // first (and the row no longer matches) or waits for this one and then finds the row
+        // moved. Reported and published once each, never a second UPDATED.
+        Set<Long> ids = new LinkedHashSet<>(b.getIds());
+        Map<Long, GatePassRequest> winners = new HashMap<>();
+        for (GatePassRequest r : gatePassRequestRepository.lockByIdInAndStatus(ids, from.name())) winners.put(r.getId(), r);
+        LocalDateTime at = LocalDateTime.now();
+        if (!winners.isEmpty()) gatePassRequestRepository.transitionAll(winners.keySet(), from.name(), to.name(), at);
+        Set<Long> existing = winners.size() == ids.size() ? winners.keySet()
+                : new HashSet<>(gatePassRequestRepository.findExistingIds(ids));
+
+        Map<Long, String> results = new LinkedHashMap<>();
+        for (Long id : ids) {
+            GatePassRequest r = winners.get(id);
+            if (r == null) {
+                results.put(id, existing.contains(id) ? "CONFLICT" : "NOT_FOUND");
+                continue;
+            }
+            results.put(id, "UPDATED");
+            LocalDateTime entered = r.enteredStatusAt();
+            r.setStatus(to.name());
+            r.setStatusChangedAt(at);
+            r.setVersion(r.getVersion() + 1);
+            events.publishEvent(transitionEvent(r, from.name(), to.name(), entered, at));
+        }
+        return new BatchTransitionResult(to.name(), results);
+    }
     public List<GatePassRequest> getRequestsByStudentId(Long id) {
-        return gatePassRequestRepository.findByStudentId(id);
+        return withArchived(gatePassRequestRepository.findByStudentId(id), archivedRepository.findByStudentId(id));
+    }
+    public CursorPage<GatePassRequest> pageByStatus(String s, String cursor, Integer size) {
+        return page(cursor, size, (c, p) -> gatePassRequestRepository.pageByStatus(s, c.createdAt(), c.id(), p));
+    }
+    public CursorPage<GatePassRequest> pagePendingForTutor(Long id, String cursor, Integer size) {
+        return page(cursor, size, (c, p) -> gatePassRequestRepository.pageByTutorIdAndStatus(id, PENDING_TUTOR_APPROVAL.name(), c.createdAt(), c.id(), p));
+    }
+    public CursorPage<GatePassRequest> pagePendingForWarden(Long id, String cursor, Integer size) {
+        return page(cursor, size, (c, p) -> gatePassRequestRepository.pageByWardenIdAndStatus(id, PENDING_WARDEN_APPROVAL.name(), c.createdAt(), c.id(), p));
+    }
+    public CursorPage<GatePassRequest> pageHistoryForTutor(Long id, LocalDateTime from, LocalDateTime to, String cursor, Integer size) {
+        LocalDateTime lower = from == null ? EPOCH : from;
+        return page(bounded(cursor, to), size, (c, p) -> merge(gatePassRequestRepository.pageByTutorIdAndStatusNot(id, PENDING_TUTOR_APPROVAL.name(), lower, c.createdAt(), c.id(), p),
+                unarchived(archivedRepository.pageByTutorId(id, lower, c.createdAt(), c.id(), p)), NEWEST_REQUEST_FIRST));
+    }
+    public CursorPage<GatePassRequest> pageHistoryForWarden(Long id, LocalDateTime from, LocalDateTime to, String cursor, Integer size) {
+        LocalDateTime lower = from == null ? EPOCH : from;
+        return page(bounded(cursor, to), size, (c, p) -> merge(gatePassRequestRepository.pageByWardenIdAndStatusNot(id, PENDING_WARDEN_APPROVAL.name(), lower, c.createdAt(), c.id(), p),
+                unarchived(archivedRepository.pageByWardenId(id, lower, c.createdAt(), c.id(), p)), NEWEST_REQUEST_FIRST));
+    }
+    public CursorPage<GatePassRequest> pageByStudentId(Long id, String cursor, Integer size) {
+        return page(cursor, size, (c, p) -> merge(gatePassRequestRepository.pageByStudentId(id, c.createdAt(), c.id(), p),
+                unarchived(archivedRepository.pageByStudentId(id, c.createdAt(), c.id(), p)), NEWEST_REQUEST_FIRST));
     }
+    public CursorPage<GatePassSummary> summariesByStatus(String s, String cursor, Integer size) {
+        return summaryPage(cursor, size, (c, p) -> gatePassRequestRepository.pageSummariesByStatus(s, c.createdAt(), c.id(), p));
+    }
+    public CursorPage<GatePassSummary> pendingSummariesForTutor(Long id, String cursor, Integer size) {
+        return summaryPage(cursor, size, (c, p) -> gatePassRequestRepository.pageSummariesByTutorIdAndStatus(id, PENDING_TUTOR_APPROVAL.name(), c.createdAt(), c.id(), p));
+    }
+    public CursorPage<GatePassSummary> pendingSummariesForWarden(Long id, String cursor, Integer size) {
+        return summaryPage(cursor, size, (c, p) -> gatePassRequestRepository.pageSummariesByWardenIdAndStatus(id, PENDING_WARDEN_APPROVAL.name(), c.createdAt(), c.id(), p));
+    }
+    public CursorPage<GatePassSummary> summariesByStudentId(Long id, String cursor, Integer size) {
+        return summaryPage(cursor, size, (c, p) -> merge(gatePassRequestRepository.pageSummariesByStudentId(id, c.createdAt(), c.id(), p),
+                archivedRepository.pageSummariesByStudentId(id, c.createdAt(), c.id(), p), NEWEST_SUMMARY_FIRST));
+    }
+    @Transactional
     public void deleteRequest(Long id) {
         GatePassRequest r = gatePassRequestRepository.findById(id).orElseThrow();
-        if (!"PENDING_TUTOR_APPROVAL".equals(r.getStatus()))
+        if (!GatePassStatus.of(r.getStatus()).isDeletable()
+                || gatePassRequestRepository.deleteByIdAndStatus(id, r.getStatus()) == 0)
             throw new IllegalStateException("Cannot delete a request that has already been processed.");
-        gatePassRequestRepository.deleteById(id);
+        events.publishEvent(transitionEvent(r, r.getStatus(), null, r.enteredStatusAt(), LocalDateTime.now()));
+    }
+
+    // Looks up the target state in GatePassStatus and applies it as a compare-and-set, so a
+    // writer that lost a race gets a conflict instead of silently overwriting the winner.
+    private GatePassRequest transition(Long id, UnaryOperator<GatePassStatus> step) {
+        GatePassRequest r = gatePassRequestRepository.findById(id).orElseThrow();
+        String from = r.getStatus();
+        String to = step.apply(GatePassStatus.of(from)).name();
+        LocalDateTime entered = r.enteredStatusAt(), at = LocalDateTime.now();
+        if (gatePassRequestRepository.transition(id, from, to, at) == 0)
+            throw new OptimisticLockingFailureException("Request " + id + " was changed by someone else; reload and try again.");
+        r.setStatus(to);
+        r.setStatusChangedAt(at);
+        r.setVersion(r.getVersion() + 1);
+        events.publishEvent(transitionEvent(r, from, to, entered, at));
+        return r;
+    }
+    // The actor is the token holder when the call carried a session token; otherwise it is
+    // the user the request is assigned to for that step.
+    private static GatePassTransition transitionEvent(GatePassRequest r, String from, String to, LocalDateTime entered, LocalDateTime at) {
+        SessionTokenService.Session session = CurrentActor.get();
+        if (session != null) return GatePassTransition.of(r, from, to, session.userId(), session.role(), entered, at);
+        String role = deciderRole(from, to);
+        Long actorId = switch (role) {
+            case "TUTOR" -> r.getTutorId();
+            case "WARDEN" -> r.getWardenId();
+            default -> r.getStudentId();
+        };
+        return GatePassTransition.of(r, from, to, actorId, role, entered, at);
+    }
+    private static String deciderRole(String from, String to) {
+        if (from == null || to == null) return "STUDENT";
+        if (PENDING_TUTOR_APPROVAL.name().equals(from)) return "TUTOR";
+        if (PENDING_WARDEN_APPROVAL.name().equals(from)) return PENDING_TUTOR_APPROVAL.name().equals(to) ? "TUTOR" : "WARDEN";
+        return "WARDEN";
+    }
+    // History reads cover archived passes too (see ArchiveService). Both tables are queried with
+    // the same cursor and page size and merged in (created_at, id) order, so one cursor spans both.
+    private static List<GatePassRequest> withArchived(List<GatePassRequest> live, List<ArchivedGatePassRequest> archived) {
+        if (archived.isEmpty()) return live;
+        return merge(live, unarchived(archived), NEWEST_REQUEST_FIRST);
+    }
+    private static List<GatePassRequest> unarchived(List<ArchivedGatePassRequest> archived) {
+        List<GatePassRequest> rows = new ArrayList<>(archived.size());
+        for (ArchivedGatePassRequest a : archived) {
+            GatePassRequest r = new GatePassRequest();
+            BeanUtils.copyProperties(a, r);
+            rows.add(r);
+        }
+        return rows;
+    }
+    private static <T> List<T> merge(List<T> live, List<T> archived, Comparator<T> order) {
+        if (archived.isEmpty()) return live;
+        List<T> rows = new ArrayList<>(live.size() + archived.size());
+        rows.addAll(live);
+        rows.addAll(archived);
+        rows.sort(order);
+        return rows;
+    }
+    // An exclusive upper date bound is the same as a cursor sitting just before its first row.
+    private PageCursor bounded(String cursor, LocalDateTime to) {
+        PageCursor c = PageCursor.decode(cursor);
+        if (to != null && !c.createdAt().isBefore(to)) return new PageCursor(to, Long.MIN_VALUE);
+        return c;
+    }
+    // Fetches one row past the page to learn whether another page exists without a count query.
+    private CursorPage<GatePassRequest> page(String cursor, Integer size, BiFunction<PageCursor, Pageable, List<GatePassRequest>> query) {
+        return page(PageCursor.decode(cursor), size, query);
+    }
+    private CursorPage<GatePassRequest> page(PageCursor cursor, Integer size, BiFunction<PageCursor, Pageable, List<GatePassRequest>> query) {
+        return page(cursor, size, query, r -> new PageCursor(r.getCreatedAt(), r.getId()));
+    }
+    private CursorPage<GatePassSummary> summaryPage(String cursor, Integer size, BiFunction<PageCursor, Pageable, List<GatePassSummary>> query) {
+        return page(PageCursor.decode(cursor), size, query, r -> new PageCursor(r.getCreatedAt(), r.getId()));
+    }
+    private <T> CursorPage<T> page(PageCursor cursor, Integer size, BiFunction<PageCursor, Pageable, List<T>> query, Function<T, PageCursor> key) {
+        int limit = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<T> rows = query.apply(cursor, PageRequest.of(0, limit + 1));
+        if (rows.size() <= limit) return new CursorPage<>(rows, null);
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, key.apply(items.get(limit - 1)).encode());
     }
-}
\ No newline at end of file
+}
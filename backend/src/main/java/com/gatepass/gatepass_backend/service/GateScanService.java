@@ -0,0 +1,116 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.ActivePass;
+import com.gatepass.gatepass_backend.dto.GateScanResult;
+import com.gatepass.gatepass_backend.event.GatePassTransition;
+import com.gatepass.gatepass_backend.repository.GatePassRequestRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.gatepass.gatepass_backend.model.GatePassStatus.APPROVED;
+
+// Validates QR pass tokens at the gate against an in-memory index of approved passes, so
+// checking a pass is an HMAC check plus a map lookup and never a query. The index is loaded
+// at startup and kept current from GatePassTransition events; passes past their validity
+// window (gatepass.gate.pass-valid-days) are left out and evicted. Each exit or return is
+// one conditional UPDATE written before the scan is answered, so a stamp the guard has seen
+// is never lost to a crash, and two gates scanning the same pass cannot both let it out.
+@Service
+public class GateScanService {
+    private static final String STAMP_EXIT = "update gate_pass_request set exit_at = ?"
+            + " where id = ? and version = ? and status = '" + APPROVED.name() + "' and exit_at is null";
+    private static final String STAMP_RETURN = "update gate_pass_request set return_at = ?"
+            + " where id = ? and version = ? and exit_at is not null and return_at is null";
+
+    private final Map<Long, ActivePass> index = new ConcurrentHashMap<>();
+    private final HmacSigner signer;
+    private final Duration validity;
+    // A second scan this soon after exit is treated as a double scan, not a return.
+    private final Duration minTimeOutside;
+
+    @Autowired private GatePassRequestRepository gatePassRequestRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    public GateScanService(@Value("${gatepass.security.pass-secret:}") String secret,
+                           @Value("${gatepass.gate.pass-valid-days}") long validDays,
+                           @Value("${gatepass.gate.min-seconds-outside}") long minSecondsOutside) {
+        // Required: printed passes must keep scanning across restarts and on every instance.
+        this.signer = new HmacSigner(secret, "gatepass.security.pass-secret");
+        this.validity = Duration.ofDays(validDays);
+        this.minTimeOutside = Duration.ofSeconds(minSecondsOutside);
+    }
+
+    @PostConstruct
+    public void loadIndex() {
+        for (ActivePass p : gatePassRequestRepository.findActivePasses(LocalDateTime.now().minus(validity))) index.put(p.getId(), p);
+    }
+
+    @Scheduled(fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void evictExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        index.values().removeIf(p -> p.expiredAt(now, validity));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransition(GatePassTransition t) {
+        if (APPROVED.name().equals(t.getToStatus()))
+            gatePassRequestRepository.findActivePass(t.getRequestId()).ifPresent(p -> index.put(p.getId(), p));
+        else if (APPROVED.name().equals(t.getFromStatus()))
+            index.remove(t.getRequestId());
+    }
+
+    // Only the student the pass belongs to gets its QR payload. The token binds the request
+    // id to its version, so a pass that was modified and re-approved needs a fresh QR code.
+    public String issueToken(Long requestId, Long studentId) {
+        ActivePass p = index.get(requestId);
+        if (p == null || p.expiredAt(LocalDateTime.now(), validity) || !Objects.equals(p.getStudentId(), studentId))
+            throw new IllegalStateException("Request " + requestId + " is not an active approved pass of yours.");
+        return signer.sign(p.getId() + "|" + p.getVersion());
+    }
+
+    public GateScanResult scan(String token) {
+        LocalDateTime now = LocalDateTime.now();
+        Long id, version;
+        try {
+            String[] parts = signer.verify(token).orElseThrow().split("\\|");
+            id = Long.parseLong(parts[0]);
+            version = Long.parseLong(parts[1]);
+        } catch (RuntimeException e) {
+            return GateScanResult.denied(null, "Invalid or tampered pass.", now);
+        }
+
+        ActivePass p = index.get(id);
+        if (p == null) return GateScanResult.denied(id, "Pass is not valid for exit.", now);
+        if (!p.getVersion().equals(version))
+            return GateScanResult.denied(id, "Pass has been changed since this code was issued.", now);
+        if (p.expiredAt(now, validity)) {
+            index.remove(id, p);
+            return GateScanResult.denied(id, "Pass has expired.", now);
+        }
+        if (p.getExitAt() == null) {
+            // Zero rows means another gate stamped it first, or the pass changed meanwhile.
+            if (jdbcTemplate.update(STAMP_EXIT, Timestamp.valueOf(now), id, version) == 0)
+                return GateScanResult.denied(id, "Pass has already been scanned out.", now);
+            index.computeIfPresent(id, (k, cur) -> cur.getVersion().equals(version) ? cur.withExitAt(now) : cur);
+            return new GateScanResult("EXIT", null, id, p.getStudentName(), p.getRollNumber(), now);
+        }
+        if (p.getExitAt().plus(minTimeOutside).isAfter(now))
+            return GateScanResult.denied(id, "Already scanned out at " + p.getExitAt() + ".", now);
+        if (jdbcTemplate.update(STAMP_RETURN, Timestamp.valueOf(now), id, version) == 0)
+            return GateScanResult.denied(id, "Pass is not valid for exit.", now);
+        index.remove(id); // a returned pass is used up
+        return new GateScanResult("RETURN", null, id, p.getStudentName(), p.getRollNumber(), now);
+    }
+}
@@ -0,0 +1,53 @@
+package com.gatepass.gatepass_backend.service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Optional;
+
+// Signs short text payloads as base64url(payload).base64url(HMAC-SHA256). The secret is
+// required: a random fallback key would silently invalidate every token on restart and
+// differ between instances.
+class HmacSigner {
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecretKeySpec key;
+
+    HmacSigner(String secret, String property) {
+        if (secret == null || secret.isBlank()) throw new IllegalStateException(property + " must be set.");
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    String sign(String payload) {
+        String body = B64.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return body + "." + B64.encodeToString(mac(body));
+    }
+
+    // Returns the payload if the signature checks out.
+    Optional<String> verify(String token) {
+        if (token == null) return Optional.empty();
+        int dot = token.indexOf('.');
+        if (dot < 0) return Optional.empty();
+        try {
+            String body = token.substring(0, dot);
+            byte[] sig = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sig, mac(body))) return Optional.empty();
+            return Optional.of(new String(Base64.getUrlDecoder().decode(body), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] mac(String body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac.doFinal(body.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.OutboundNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Local stand-in that writes each notification to the log instead of sending it.
+@Service
+@ConditionalOnProperty(name = "gatepass.notifications.sender", havingValue = "log", matchIfMissing = true)
+public class LoggingNotificationSender implements NotificationSender {
+    private static final Logger log = LoggerFactory.getLogger(LoggingNotificationSender.class);
+
+    @Override
+    public Set<Long> send(List<OutboundNotification> batch) {
+        Set<Long> delivered = new HashSet<>();
+        for (OutboundNotification n : batch) {
+            log.info("Notify user {} (email={}, phone={}) [{}]: {}", n.getRecipientId(), n.getEmail(), n.getPhone(), n.getDedupKey(), n.getMessage());
+            delivered.add(n.getId());
+        }
+        return delivered;
+    }
+}
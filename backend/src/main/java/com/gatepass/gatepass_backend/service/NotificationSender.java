@@ -0,0 +1,13 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.OutboundNotification;
+import java.util.List;
+import java.util.Set;
+
+// Delivery channel for outbox notifications (email, SMS, ...). Select the implementation with
+// gatepass.notifications.sender; "log" is the built-in LoggingNotificationSender.
+public interface NotificationSender {
+    // Returns the ids of the notifications that were delivered; the rest are retried with
+    // backoff. Throwing counts as a failure of the whole batch.
+    Set<Long> send(List<OutboundNotification> batch) throws Exception;
+}
@@ -0,0 +1,194 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.OutboundNotification;
+import com.gatepass.gatepass_backend.event.GatePassTransition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.gatepass.gatepass_backend.model.GatePassStatus.*;
+
+// Transactional outbox for gate pass notifications. Transitions are turned into outbox rows
+// that are batch-inserted just before the approving transaction commits, so a notification
+// exists if and only if its change does. A scheduled dispatcher claims due rows under a
+// lease, looks up recipients' email and phone, hands them to the NotificationSender and
+// records the outcome; failures are retried with exponential backoff. Every row carries a
+// unique dedup key, so a replayed transition cannot queue a second message, and a row whose
+// lease expires after a crash is sent again under the same key for the sender to drop.
+@Service
+public class NotificationService {
+    private static final String INSERT = "insert ignore into notification_outbox"
+            + " (dedup_key, request_id, recipient_id, message, status, attempts, next_attempt_at, created_at)"
+            + " values (?, ?, ?, ?, 'PENDING', 0, ?, ?)";
+    private static final Duration LEASE = Duration.ofMinutes(5);
+    private static final Duration FIRST_RETRY = Duration.ofSeconds(30);
+    private static final Duration MAX_RETRY = Duration.ofHours(1);
+
+    private final int batchSize;
+    private final int maxAttempts;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private NotificationSender sender;
+
+    public NotificationService(@Value("${gatepass.notifications.batch-size}") int batchSize,
+                               @Value("${gatepass.notifications.max-attempts}") int maxAttempts) {
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    // Runs synchronously inside the publishing transaction. Rows for one transaction are
+    // collected and written as a single batch in beforeCommit.
+    @EventListener
+    public void onTransition(GatePassTransition t) {
+        Object[] row = outboxRow(t);
+        if (row == null) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            jdbcTemplate.update(INSERT, row);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> pending = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Object[]> rows = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, rows);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    jdbcTemplate.batchUpdate(INSERT, rows);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(NotificationService.this);
+                }
+            });
+            pending = rows;
+        }
+        pending.add(row);
+    }
+
+    // Students hear about decisions; approvers hear about requests entering their queue.
+    private static Object[] outboxRow(GatePassTransition t) {
+        String to = t.getToStatus();
+        Long recipient;
+        String message;
+        if (APPROVED.name().equals(to)) {
+            recipient = t.getStudentId();
+            message = "Your gate pass request #" + t.getRequestId() + " has been approved.";
+        } else if (REJECTED.name().equals(to)) {
+            recipient = t.getStudentId();
+            message = "Your gate pass request #" + t.getRequestId() + " has been rejected.";
+        } else if (PENDING_TUTOR_APPROVAL.name().equals(to)) {
+            recipient = t.getTutorId();
+            message = "Gate pass request #" + t.getRequestId() + " is waiting for your approval.";
+        } else if (PENDING_WARDEN_APPROVAL.name().equals(to)) {
+            recipient = t.getWardenId();
+            message = "Gate pass request #" + t.getRequestId() + " is waiting for your approval.";
+        } else return null;
+        if (recipient == null) return null;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String dedupKey = t.getRequestId() + ":" + to + ":" + recipient + ":" + t.getOccurredAt();
+        return new Object[]{dedupKey, t.getRequestId(), recipient, message, now, now};
+    }
+
+    @Scheduled(fixedDelayString = "${gatepass.notifications.poll-ms}")
+    public void dispatch() {
+        int claimed;
+        do claimed = dispatchBatch(); while (claimed == batchSize);
+    }
+
+    // Claims up to batchSize due rows with a compare-and-set on the lease, so several
+    // instances can dispatch side by side without sending the same row concurrently.
+    int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp nowTs = Timestamp.valueOf(now);
+        List<Long> due = jdbcTemplate.queryForList("select id from notification_outbox where status = 'PENDING' and next_attempt_at <= ?"
+                + " and (claimed_until is null or claimed_until < ?) order by next_attempt_at, id limit " + batchSize, Long.class, nowTs, nowTs);
+        if (due.isEmpty()) return 0;
+        String token = UUID.randomUUID().toString();
+        jdbcTemplate.update("update notification_outbox set claim_token = ?, claimed_until = ? where id in (" + placeholders(due.size())
+                + ") and status = 'PENDING' and (claimed_until is null or claimed_until < ?)", args(token, Timestamp.valueOf(now.plus(LEASE)), due, nowTs));
+
+        List<OutboundNotification> batch = new ArrayList<>();
+        Map<Long, Integer> attempts = new HashMap<>();
+        jdbcTemplate.query("select o.id, o.dedup_key, o.recipient_id, u.email, u.phone, o.message, o.attempts from notification_outbox o"
+                + " left join user u on u.id = o.recipient_id where o.claim_token = ?", rs -> {
+            batch.add(new OutboundNotification(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getString(4), rs.getString(5), rs.getString(6)));
+            attempts.put(rs.getLong(1), rs.getInt(7));
+        }, token);
+
+        List<OutboundNotification> sendable = new ArrayList<>();
+        List<Object[]> skipped = new ArrayList<>();
+        for (OutboundNotification n : batch) {
+            if (isBlank(n.getEmail()) && isBlank(n.getPhone())) skipped.add(new Object[]{n.getId()});
+            else sendable.add(n);
+        }
+        Set<Long> delivered;
+        String error = null;
+        try {
+            delivered = sendable.isEmpty() ? Set.of() : sender.send(sendable);
+        } catch (Exception e) {
+            delivered = Set.of();
+            error = String.valueOf(e.getMessage());
+        }
+
+        List<Object[]> sent = new ArrayList<>(), retry = new ArrayList<>(), failed = new ArrayList<>();
+        for (OutboundNotification n : sendable) {
+            if (delivered.contains(n.getId())) {
+                sent.add(new Object[]{nowTs, n.getId()});
+                continue;
+            }
+            int attempt = attempts.get(n.getId()) + 1;
+            String lastError = truncate(error == null ? "Not delivered" : error);
+            if (attempt >= maxAttempts) failed.add(new Object[]{attempt, lastError, n.getId()});
+            else retry.add(new Object[]{attempt, Timestamp.valueOf(now.plus(backoff(attempt))), lastError, n.getId()});
+        }
+        jdbcTemplate.batchUpdate("update notification_outbox set status = 'SENT', sent_at = ?, claim_token = null, claimed_until = null where id = ?", sent);
+        jdbcTemplate.batchUpdate("update notification_outbox set attempts = ?, next_attempt_at = ?, last_error = ?, claim_token = null, claimed_until = null where id = ?", retry);
+        jdbcTemplate.batchUpdate("update notification_outbox set status = 'FAILED', attempts = ?, last_error = ?, claim_token = null, claimed_until = null where id = ?", failed);
+        jdbcTemplate.batchUpdate("update notification_outbox set status = 'SKIPPED', claim_token = null, claimed_until = null where id = ?", skipped);
+        return due.size();
+    }
+
+    // 30s, 1m, 2m, 4m, ... capped at an hour.
+    static Duration backoff(int attempt) {
+        Duration d = FIRST_RETRY.multipliedBy(1L << Math.min(attempt - 1, 20));
+        return d.compareTo(MAX_RETRY) > 0 ? MAX_RETRY : d;
+    }
+
+    private static String placeholders(int n) {
+        return String.join(", ", Collections.nCopies(n, "?"));
+    }
+
+    private static Object[] args(String token, Timestamp until, List<Long> ids, Timestamp now) {
+        List<Object> args = new ArrayList<>(ids.size() + 3);
+        args.add(token);
+        args.add(until);
+        args.addAll(ids);
+        args.add(now);
+        return args.toArray();
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
+    private static String truncate(String s) {
+        return s.length() <= 500 ? s : s.substring(0, 500);
+    }
+}
@@ -0,0 +1,63 @@
+package com.gatepass.gatepass_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+// bcrypt hashing with a configurable cost (gatepass.security.bcrypt-strength, 4-31).
+// Bulk imports hash at gatepass.security.import-bcrypt-strength, which defaults to the same
+// cost. A cheaper import cost must be opted into with
+// gatepass.security.allow-cheaper-import-hashes=true; those hashes report needsRehash and
+// are upgraded to the full cost on the user's first login.
+// Rows written before hashing was introduced still hold plaintext; they are accepted once
+// and reported by needsRehash so the caller can upgrade them on a successful login.
+// Checks that cannot reach a real bcrypt comparison (unknown user, plaintext row) still run
+// one against a dummy hash, so a failed login takes the same time whatever the reason.
+@Service
+public class PasswordService {
+    private final BCryptPasswordEncoder encoder;
+    private final BCryptPasswordEncoder importEncoder;
+    private final String dummyHash;
+
+    public PasswordService(@Value("${gatepass.security.bcrypt-strength:10}") int strength,
+                           @Value("${gatepass.security.import-bcrypt-strength:${gatepass.security.bcrypt-strength:10}}") int importStrength,
+                           @Value("${gatepass.security.allow-cheaper-import-hashes:false}") boolean allowCheaperImport) {
+        if (importStrength < strength && !allowCheaperImport)
+            throw new IllegalStateException("gatepass.security.import-bcrypt-strength is below gatepass.security.bcrypt-strength;"
+                    + " set gatepass.security.allow-cheaper-import-hashes=true to allow it.");
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.importEncoder = new BCryptPasswordEncoder(Math.min(importStrength, strength));
+        this.dummyHash = encoder.encode("dummy-password");
+    }
+
+    public String hash(String raw) {
+        return encoder.encode(raw);
+    }
+
+    public String hashForImport(String raw) {
+        return importEncoder.encode(raw);
+    }
+
+    public boolean matches(String raw, String stored) {
+        if (raw != null && stored != null && isHashed(stored)) return encoder.matches(raw, stored);
+        matchesNothing(raw);
+        if (raw == null || stored == null) return false;
+        return MessageDigest.isEqual(raw.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Spends one bcrypt comparison; for logins that fail before reaching a stored hash.
+    public void matchesNothing(String raw) {
+        encoder.matches(raw == null ? "" : raw, dummyHash);
+    }
+
+    // True for legacy plaintext and for hashes made with a lower cost than the current one.
+    public boolean needsRehash(String stored) {
+        return !isHashed(stored) || encoder.upgradeEncoding(stored);
+    }
+
+    private static boolean isHashed(String stored) {
+        return stored.startsWith("$2a$") || stored.startsWith("$2b$") || stored.startsWith("$2y$");
+    }
+}
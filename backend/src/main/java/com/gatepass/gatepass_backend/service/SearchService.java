@@ -0,0 +1,230 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.CursorPage;
+import com.gatepass.gatepass_backend.dto.GatePassSummary;
+import com.gatepass.gatepass_backend.dto.UserSummary;
+import com.gatepass.gatepass_backend.event.GatePassTransition;
+import com.gatepass.gatepass_backend.model.GatePassRequest;
+import com.gatepass.gatepass_backend.model.User;
+import com.gatepass.gatepass_backend.repository.ArchivedGatePassRequestRepository;
+import com.gatepass.gatepass_backend.repository.GatePassRequestRepository;
+import com.gatepass.gatepass_backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.gatepass.gatepass_backend.service.GatePassService.DEFAULT_PAGE_SIZE;
+import static com.gatepass.gatepass_backend.service.GatePassService.MAX_PAGE_SIZE;
+
+// Prefix and typo-tolerant search over gate passes (student name, roll number, department,
+// purpose) and users (username, name, email), backed by an embedded Lucene index. The index
+// is rebuilt from the database at startup and then kept in sync from GatePassTransition
+// events and user writes; new documents become searchable within a second. Hits are
+// hydrated from the database by id, so statuses are always current.
+@Service
+public class SearchService {
+    private static final String REQUEST = "request", USER = "user";
+    private static final String KEY = "key", TYPE = "type", ID = "id", TEXT = "text";
+    // Deep result pages are never useful for a search box and cost a larger top-N collection.
+    private static final int MAX_OFFSET = 1000;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searchers;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private GatePassRequestRepository gatePassRequestRepository;
+    @Autowired private ArchivedGatePassRequestRepository archivedRepository;
+    @Autowired private UserRepository userRepository;
+
+    // An empty gatepass.search.index-dir keeps the index on the heap.
+    public SearchService(@Value("${gatepass.search.index-dir:}") String indexDir) throws IOException {
+        directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir));
+    }
+
+    @PostConstruct
+    public void rebuild() throws IOException {
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+        for (String table : List.of("gate_pass_request", "gate_pass_request_archive")) {
+            jdbcTemplate.query("select id, student_name, roll_number, department, purpose from " + table, rs -> {
+                add(REQUEST, rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5));
+            });
+        }
+        for (UserSummary u : userRepository.findAllSummaries()) add(USER, u.getId(), u.getUsername(), u.getName(), u.getEmail());
+        writer.commit();
+        searchers = new SearcherManager(writer, null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransition(GatePassTransition t) {
+        if (t.getFromStatus() == null) gatePassRequestRepository.findById(t.getRequestId()).ifPresent(this::indexRequest);
+        else if (t.getToStatus() == null) remove(REQUEST, t.getRequestId());
+    }
+
+    public void indexRequest(GatePassRequest r) {
+        add(REQUEST, r.getId(), r.getStudentName(), r.getRollNumber(), r.getDepartment(), r.getPurpose());
+    }
+
+    public void indexUser(User u) {
+        add(USER, u.getId(), u.getUsername(), u.getName(), u.getEmail());
+    }
+
+    public void indexUser(UserSummary u) {
+        add(USER, u.getId(), u.getUsername(), u.getName(), u.getEmail());
+    }
+
+    public void removeUser(Long id) {
+        remove(USER, id);
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void refresh() throws IOException {
+        searchers.maybeRefreshBlocking();
+    }
+
+    public CursorPage<GatePassSummary> searchRequests(String q, String cursor, Integer size) {
+        return search(REQUEST, q, cursor, size, ids -> {
+            List<GatePassSummary> rows = new ArrayList<>(gatePassRequestRepository.findSummariesByIdIn(ids));
+            if (rows.size() < ids.size()) rows.addAll(archivedRepository.findSummariesByIdIn(ids));
+            return rows.stream().collect(Collectors.toMap(GatePassSummary::getId, Function.identity(), (a, b) -> a));
+        });
+    }
+
+    public CursorPage<UserSummary> searchUsers(String q, String cursor, Integer size) {
+        return search(USER, q, cursor, size, ids -> userRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(UserSummary::getId, Function.identity())));
+    }
+
+    // Every query word must match the document exactly, as a prefix, or (for words of three or
+    // more letters) within one or two edits. Exact matches rank above prefixes above typos. The
+    // cursor is the offset of the next hit.
+    private <T> CursorPage<T> search(String type, String q, String cursor, Integer size, Function<List<Long>, Map<Long, T>> load) {
+        List<String> words = analyze(q);
+        if (words.isEmpty()) throw new IllegalArgumentException("Search query is empty.");
+        int offset;
+        try {
+            offset = cursor == null ? 0 : Integer.parseInt(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor.");
+        }
+        if (offset < 0 || offset > MAX_OFFSET) throw new IllegalArgumentException("Cursor out of range.");
+        int limit = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(new TermQuery(new Term(TYPE, type)), Occur.FILTER);
+        for (String w : words) {
+            Term term = new Term(TEXT, w);
+            BooleanQuery.Builder word = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(term), 4), Occur.SHOULD)
+                    .add(new BoostQuery(new PrefixQuery(term), 2), Occur.SHOULD);
+            if (w.length() >= 3) word.add(new FuzzyQuery(term, w.length() >= 6 ? 2 : 1, 1), Occur.SHOULD);
+            query.add(word.build(), Occur.MUST);
+        }
+
+        List<Long> ids = new ArrayList<>();
+        boolean more;
+        try {
+            IndexSearcher searcher = searchers.acquire();
+            try {
+                ScoreDoc[] hits = searcher.search(query.build(), offset + limit + 1).scoreDocs;
+                for (int i = offset; i < Math.min(hits.length, offset + limit); i++)
+                    ids.add(searcher.storedFields().document(hits[i].doc).getField(ID).numericValue().longValue());
+                more = hits.length > offset + limit;
+            } finally {
+                searchers.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (ids.isEmpty()) return new CursorPage<>(List.of(), null);
+        Map<Long, T> rows = load.apply(ids);
+        List<T> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T row = rows.get(id);
+            if (row != null) items.add(row);
+        }
+        return new CursorPage<>(items, more && offset + limit <= MAX_OFFSET ? Integer.toString(offset + limit) : null);
+    }
+
+    private List<String> analyze(String q) {
+        List<String> words = new ArrayList<>();
+        if (q == null) return words;
+        try (TokenStream ts = analyzer.tokenStream(TEXT, q)) {
+            CharTermAttribute term = ts.addAttribute(CharTermAttribute.class);
+            ts.reset();
+            while (ts.incrementToken()) words.add(term.toString());
+            ts.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return words;
+    }
+
+    private void add(String type, Long id, String... fields) {
+        StringJoiner text = new StringJoiner(" ");
+        for (String f : fields) if (f != null) text.add(f);
+        Document doc = new Document();
+        doc.add(new StringField(KEY, type + ":" + id, Field.Store.NO));
+        doc.add(new StringField(TYPE, type, Field.Store.NO));
+        doc.add(new StoredField(ID, id));
+        doc.add(new TextField(TEXT, text.toString(), Field.Store.NO));
+        try {
+            writer.updateDocument(new Term(KEY, type + ":" + id), doc);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void remove(String type, Long id) {
+        try {
+            writer.deleteDocuments(new Term(KEY, type + ":" + id));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searchers.close();
+        writer.close();
+        directory.close();
+    }
+}
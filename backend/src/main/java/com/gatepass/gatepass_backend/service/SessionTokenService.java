@@ -0,0 +1,39 @@
+package com.gatepass.gatepass_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+// Stateless signed session tokens carrying userId|role|expiry; verifying one needs no
+// database access. The key comes from gatepass.security.token-secret, which is required.
+@Service
+public class SessionTokenService {
+    public record Session(Long userId, String role) {}
+
+    private final HmacSigner signer;
+    private final Duration ttl;
+
+    public SessionTokenService(@Value("${gatepass.security.token-secret:}") String secret,
+                               @Value("${gatepass.security.token-ttl-hours:12}") long ttlHours) {
+        this.signer = new HmacSigner(secret, "gatepass.security.token-secret");
+        this.ttl = Duration.ofHours(ttlHours);
+    }
+
+    public String issue(Long userId, String role) {
+        return signer.sign(userId + "|" + role + "|" + Instant.now().plus(ttl).getEpochSecond());
+    }
+
+    public Optional<Session> verify(String token) {
+        return signer.verify(token).flatMap(payload -> {
+            String[] parts = payload.split("\\|");
+            try {
+                if (parts.length != 3 || Instant.now().getEpochSecond() > Long.parseLong(parts[2])) return Optional.empty();
+                return Optional.of(new Session(Long.parseLong(parts[0]), parts[1]));
+            } catch (NumberFormatException e) {
+                return Optional.empty();
+            }
+        });
+    }
+}
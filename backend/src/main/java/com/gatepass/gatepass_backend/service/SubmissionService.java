@@ -0,0 +1,200 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.event.GatePassTransition;
+import com.gatepass.gatepass_backend.model.GatePassRequest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.gatepass.gatepass_backend.model.GatePassStatus.PENDING_TUTOR_APPROVAL;
+import static com.gatepass.gatepass_backend.model.GatePassStatus.PENDING_WARDEN_APPROVAL;
+
+// Front door for new gate pass requests, so client retries and runaway clients are absorbed
+// in memory before a transaction is opened:
+//  - An Idempotency-Key replays the first response for the same student and key (for
+//    gatepass.submissions.idempotency-ttl-minutes) instead of inserting again. A retry that
+//    arrives while the first attempt is still running waits for its outcome.
+//  - Each student has a token bucket of gatepass.submissions.burst submissions, refilled at
+//    gatepass.submissions.refill-per-hour (a burst of 0 turns it off).
+//  - A student can have at most gatepass.submissions.max-pending requests awaiting approval,
+//    counted in memory like ApproverWorkloadService's queues: reserved here on submit,
+//    released by transitions, and rebuilt from one grouped count on the refresh interval
+//    (0 turns it off). Changes made while a refresh is reading are replayed onto its result,
+//    as in ApproverWorkloadService.
+@Service
+public class SubmissionService {
+    public record Submission(GatePassRequest request, boolean replayed) {}
+
+    // Shed before reaching the database; maps to 429 with Retry-After.
+    public static class ThrottledException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public ThrottledException(String message, long retryAfterSeconds) {
+            super(message);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String PENDING_BY_STUDENT = "select student_id, count(*) from gate_pass_request"
+            + " where status in ('" + PENDING_TUTOR_APPROVAL.name() + "', '" + PENDING_WARDEN_APPROVAL.name() + "')"
+            + " and student_id is not null group by student_id";
+
+    private final Cache<String, CompletableFuture<GatePassRequest>> submissions;
+    private final Cache<Long, TokenBucket> buckets;
+    private final int burst;
+    private final double tokensPerNano;
+    private final int maxPending;
+    private volatile Map<Long, AtomicLong> pending = new ConcurrentHashMap<>();
+    // Deltas seen since the running refresh started; null when none is running. Guarded by lock.
+    private final Object lock = new Object();
+    private Map<Long, AtomicLong> sinceRefresh;
+
+    @Autowired private GatePassService gatePassService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    public SubmissionService(@Value("${gatepass.submissions.idempotency-ttl-minutes}") long ttlMinutes,
+                             @Value("${gatepass.submissions.idempotency-max-keys}") long maxKeys,
+                             @Value("${gatepass.submissions.burst}") int burst,
+                             @Value("${gatepass.submissions.refill-per-hour}") int refillPerHour,
+                             @Value("${gatepass.submissions.max-pending}") int maxPending) {
+        this.submissions = Caffeine.newBuilder().maximumSize(maxKeys).expireAfterWrite(Duration.ofMinutes(ttlMinutes)).build();
+        this.burst = burst;
+        this.tokensPerNano = refillPerHour / (double) TimeUnit.HOURS.toNanos(1);
+        this.maxPending = maxPending;
+        // A bucket left alone until it is full again is no different from a new one.
+        this.buckets = Caffeine.newBuilder().maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos((long) Math.ceil(burst / tokensPerNano))).build();
+    }
+
+    public Submission submit(GatePassRequest r, String idempotencyKey) {
+        if (r.getStudentId() == null) throw new IllegalArgumentException("studentId is required.");
+        if (idempotencyKey == null || idempotencyKey.isBlank()) return new Submission(admit(r), false);
+        if (idempotencyKey.length() > MAX_KEY_LENGTH)
+            throw new IllegalArgumentException("Idempotency-Key is longer than " + MAX_KEY_LENGTH + " characters.");
+
+        String key = r.getStudentId() + ":" + idempotencyKey;
+        CompletableFuture<GatePassRequest> mine = new CompletableFuture<>();
+        CompletableFuture<GatePassRequest> first = submissions.asMap().putIfAbsent(key, mine);
+        if (first != null) {
+            try {
+                return new Submission(first.join(), true);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            GatePassRequest saved = admit(r);
+            mine.complete(saved);
+            return new Submission(saved, false);
+        } catch (RuntimeException e) {
+            // Failures are not remembered, so a corrected retry with the same key goes through.
+            submissions.asMap().remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private GatePassRequest admit(GatePassRequest r) {
+        Long studentId = r.getStudentId();
+        if (burst > 0) {
+            long wait = buckets.get(studentId, id -> new TokenBucket(burst)).take(burst, tokensPerNano);
+            if (wait > 0) throw new ThrottledException("Too many gate pass requests. Try again in " + wait + " seconds.", wait);
+        }
+        if (maxPending > 0) {
+            synchronized (lock) {
+                if (count(pending, studentId) >= maxPending)
+                    throw new IllegalStateException("You already have " + maxPending + " gate pass requests awaiting approval.");
+                adjust(studentId, 1);
+            }
+        }
+        try {
+            return gatePassService.createRequest(r);
+        } catch (RuntimeException e) {
+            if (maxPending > 0) adjust(studentId, -1);
+            throw e;
+        }
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${gatepass.metrics.queue-refresh-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void refresh() {
+        synchronized (lock) {
+            sinceRefresh = new ConcurrentHashMap<>();
+        }
+        Map<Long, AtomicLong> counts = new ConcurrentHashMap<>();
+        jdbcTemplate.query(PENDING_BY_STUDENT, rs -> {
+            counts.put(rs.getLong(1), new AtomicLong(rs.getLong(2)));
+        });
+        synchronized (lock) {
+            sinceRefresh.forEach((id, delta) -> add(counts, id, delta.get()));
+            pending = counts;
+            sinceRefresh = null;
+        }
+    }
+
+    // New requests were already counted when admitted.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransition(GatePassTransition t) {
+        if (t.getFromStatus() != null) adjust(t.getStudentId(), open(t.getToStatus()) - open(t.getFromStatus()));
+    }
+
+    private static int open(String status) {
+        return PENDING_TUTOR_APPROVAL.name().equals(status) || PENDING_WARDEN_APPROVAL.name().equals(status) ? 1 : 0;
+    }
+
+    private void adjust(Long studentId, int delta) {
+        if (studentId == null || delta == 0) return;
+        synchronized (lock) {
+            add(pending, studentId, delta);
+            if (sinceRefresh != null) add(sinceRefresh, studentId, delta);
+        }
+    }
+
+    private static void add(Map<Long, AtomicLong> counts, Long studentId, long delta) {
+        counts.computeIfAbsent(studentId, k -> new AtomicLong()).addAndGet(delta);
+    }
+
+    private static long count(Map<Long, AtomicLong> counts, Long studentId) {
+        AtomicLong n = counts.get(studentId);
+        return n == null ? 0 : n.get();
+    }
+
+    private static final class TokenBucket {
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        TokenBucket(int burst) {
+            tokens = burst;
+        }
+
+        // Takes a token and returns 0, or returns the whole seconds until one is available.
+        synchronized long take(int burst, double tokensPerNano) {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens--;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano / TimeUnit.SECONDS.toNanos(1)));
+        }
+    }
+}
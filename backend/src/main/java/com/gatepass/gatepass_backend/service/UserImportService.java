@@ -0,0 +1,209 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.gatepass.gatepass_backend.config.CacheConfig;
+import com.gatepass.gatepass_backend.dto.UserImportError;
+import com.gatepass.gatepass_backend.dto.UserImportResult;
+import com.gatepass.gatepass_backend.dto.UserImportRow;
+import com.gatepass.gatepass_backend.dto.UserSummary;
+import com.gatepass.gatepass_backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+// Bulk user import from a streamed CSV (with header row) or JSON (array or one object per
+// line) file. Rows are handled in chunks: validated, checked for duplicates against the file
+// and, with one query each for usernames and emails, against the database, then hashed in
+// parallel and inserted as one JDBC batch. Each chunk commits together with the import's
+// checkpoint in user_import_job, so re-sending the file with the same importId after an
+// interruption picks up at the first uncommitted row. Each chunk first moves the checkpoint
+// on from the value this run last saw, so a second run with the same importId stops at its
+// next chunk instead of inserting rows the first one already owns.
+@Service
+public class UserImportService {
+    static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final Set<String> ROLES = Set.of("STUDENT", "TUTOR", "WARDEN", "SECURITY", "ADMIN");
+    private static final String INSERT = "insert into user (username, password, name, role, email, phone) values (?, ?, ?, ?, ?, ?)";
+    private static final ObjectReader JSON = new ObjectMapper().readerFor(UserImportRow.class);
+    private static final ObjectReader CSV = new CsvMapper().readerFor(UserImportRow.class).with(CsvSchema.emptySchema().withHeader());
+
+    private record Row(long number, UserImportRow user) {}
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PasswordService passwordService;
+    @Autowired private SearchService searchService;
+
+    @CacheEvict(cacheNames = CacheConfig.USERS_BY_ROLE, allEntries = true)
+    public UserImportResult importUsers(InputStream in, String format, String importId) throws IOException {
+        ObjectReader reader = switch (format == null ? "" : format.toLowerCase()) {
+            case "csv" -> CSV;
+            case "json" -> JSON;
+            default -> throw new IllegalArgumentException("Unknown import format: " + format);
+        };
+        String id = importId == null || importId.isBlank() ? UUID.randomUUID().toString() : importId.trim();
+        if (id.length() > 64) throw new IllegalArgumentException("importId must be at most 64 characters.");
+        UserImportResult result = new UserImportResult();
+        result.setImportId(id);
+        long committed = checkpoint(id);
+
+        Set<String> usernames = new HashSet<>(), emails = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        long number = 0;
+        try (MappingIterator<UserImportRow> rows = reader.readValues(in)) {
+            while (rows.hasNextValue()) {
+                UserImportRow user = rows.nextValue();
+                if (++number <= committed) {
+                    result.setSkipped(result.getSkipped() + 1);
+                    continue;
+                }
+                chunk.add(new Row(number, user));
+                if (chunk.size() == CHUNK_SIZE) {
+                    committed = importChunk(id, committed, chunk, usernames, emails, result);
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+            // Keep the rows read before the malformed one; a fixed file resumes after them.
+            if (!chunk.isEmpty()) importChunk(id, committed, chunk, usernames, emails, result);
+            result.setError("Stopped at row " + (number + 1) + ": " + e.getMessage());
+            return result;
+        }
+        if (!chunk.isEmpty()) importChunk(id, committed, chunk, usernames, emails, result);
+        result.setCompleted(true);
+        return result;
+    }
+
+    private long checkpoint(String id) {
+        List<Long> done = jdbcTemplate.queryForList("select rows_committed from user_import_job where id = ?", Long.class, id);
+        if (!done.isEmpty()) return done.get(0);
+        try {
+            jdbcTemplate.update("insert into user_import_job (id, rows_committed, updated_at) values (?, 0, ?)", id, Timestamp.valueOf(LocalDateTime.now()));
+        } catch (DuplicateKeyException e) {
+            throw alreadyRunning(id);
+        }
+        return 0;
+    }
+
+    // Returns the new checkpoint.
+    private long importChunk(String jobId, long committed, List<Row> chunk, Set<String> usernames, Set<String> emails, UserImportResult result) {
+        List<Row> candidates = new ArrayList<>();
+        Set<String> chunkUsernames = new HashSet<>(), chunkEmails = new HashSet<>();
+        for (Row r : chunk) {
+            UserImportRow u = normalize(r.user());
+            String problem = validate(u);
+            if (problem == null && (usernames.contains(u.getUsername()) || chunkUsernames.contains(u.getUsername())))
+                problem = "Username appears earlier in the file.";
+            if (problem == null && u.getEmail() != null && (emails.contains(u.getEmail()) || chunkEmails.contains(u.getEmail())))
+                problem = "Email appears earlier in the file.";
+            if (problem != null) {
+                fail(result, r, problem);
+                continue;
+            }
+            chunkUsernames.add(u.getUsername());
+            if (u.getEmail() != null) chunkEmails.add(u.getEmail());
+            candidates.add(r);
+        }
+        usernames.addAll(chunkUsernames);
+        emails.addAll(chunkEmails);
+
+        Set<String> takenUsernames = chunkUsernames.isEmpty() ? Set.of() : new HashSet<>(userRepository.findTakenUsernames(chunkUsernames));
+        Set<String> takenEmails = chunkEmails.isEmpty() ? Set.of() : new HashSet<>(userRepository.findTakenEmails(chunkEmails));
+        List<Row> valid = new ArrayList<>();
+        for (Row r : candidates) {
+            if (takenUsernames.contains(r.user().getUsername())) fail(result, r, "Username already taken.");
+            else if (r.user().getEmail() != null && takenEmails.contains(r.user().getEmail())) fail(result, r, "Email already in use.");
+            else valid.add(r);
+        }
+
+        // bcrypt dominates the cost of an import, so hash on every core.
+        List<Object[]> args = valid.parallelStream().map(r -> {
+            UserImportRow u = r.user();
+            return new Object[]{u.getUsername(), passwordService.hashForImport(u.getPassword()), u.getName(), u.getRole(), u.getEmail(), u.getPhone()};
+        }).toList();
+        long last = chunk.get(chunk.size() - 1).number();
+        List<String> inserted;
+        try {
+            inserted = commit(jobId, committed, last, valid, args, true, result);
+        } catch (DuplicateKeyException e) {
+            // Someone created a clashing user since the check; redo the chunk row by row.
+            inserted = commit(jobId, committed, last, valid, args, false, result);
+        }
+        result.setImported(result.getImported() + inserted.size());
+        result.getErrors().sort(Comparator.comparingLong(UserImportError::getRow));
+        if (!inserted.isEmpty())
+            for (UserSummary u : userRepository.findSummariesByUsernameIn(inserted)) searchService.indexUser(u);
+        return last;
+    }
+
+    private List<String> commit(String jobId, long committed, long lastRow, List<Row> valid, List<Object[]> args, boolean batch, UserImportResult result) {
+        return transactionTemplate.execute(tx -> {
+            // Claims the chunk first; the row lock holds off any other run until this commits.
+            if (jdbcTemplate.update("update user_import_job set rows_committed = ?, updated_at = ? where id = ? and rows_committed = ?",
+                    lastRow, Timestamp.valueOf(LocalDateTime.now()), jobId, committed) == 0)
+                throw alreadyRunning(jobId);
+            List<String> inserted = new ArrayList<>();
+            if (batch) {
+                if (!args.isEmpty()) jdbcTemplate.batchUpdate(INSERT, args);
+                for (Row r : valid) inserted.add(r.user().getUsername());
+            } else {
+                for (int i = 0; i < valid.size(); i++) {
+                    try {
+                        jdbcTemplate.update(INSERT, args.get(i));
+                        inserted.add(valid.get(i).user().getUsername());
+                    } catch (DuplicateKeyException e) {
+                        fail(result, valid.get(i), "Username or email already in use.");
+                    }
+                }
+            }
+            return inserted;
+        });
+    }
+
+    private static IllegalStateException alreadyRunning(String id) {
+        return new IllegalStateException("Import " + id + " is already being run by another request; resend it once that one finishes.");
+    }
+
+    private static UserImportRow normalize(UserImportRow u) {
+        if (u.getUsername() != null) u.setUsername(u.getUsername().trim());
+        if (u.getRole() != null) u.setRole(u.getRole().trim().toUpperCase());
+        // Blank emails are stored as null so they never collide on the unique constraint.
+        if (u.getEmail() != null) u.setEmail(u.getEmail().trim().isEmpty() ? null : u.getEmail().trim());
+        return u;
+    }
+
+    private static String validate(UserImportRow u) {
+        if (u.getUsername() == null || u.getUsername().isEmpty()) return "Username cannot be empty.";
+        if (u.getPassword() == null || u.getPassword().trim().isEmpty()) return "Password cannot be empty.";
+        if (u.getName() == null || u.getName().trim().isEmpty()) return "User name cannot be empty.";
+        if (u.getRole() == null || !ROLES.contains(u.getRole())) return "Unknown role: " + u.getRole();
+        return null;
+    }
+
+    private static void fail(UserImportResult result, Row r, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS)
+            result.getErrors().add(new UserImportError(r.number(), r.user().getUsername(), message));
+    }
+}
@@ -1,19 +1,47 @@
 package com.gatepass.gatepass_backend.service;
 
+import com.gatepass.gatepass_backend.config.CacheConfig;
 import com.gatepass.gatepass_backend.model.User;
 import com.gatepass.gatepass_backend.repository.UserRepository;
 import com.gatepass.gatepass_backend.dto.UserDto;
+import com.gatepass.gatepass_backend.dto.UserSummary;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class UserService {
 
     @Autowired private UserRepository userRepository;
+    @Autowired private PasswordService passwordService;
+    @Autowired private SearchService searchService;
 
+    // Verifies a login and transparently upgrades legacy plaintext or low-cost hashes.
+    public Optional<User> authenticate(String username, String password) {
+        Optional<User> uOpt = userRepository.findByUsername(username);
+        if (uOpt.isEmpty()) {
+            passwordService.matchesNothing(password);
+            return Optional.empty();
+        }
+        if (!passwordService.matches(password, uOpt.get().getPassword())) {
+            return Optional.empty();
+        }
+        User user = uOpt.get();
+        if (passwordService.needsRehash(user.getPassword())) {
+            user.setPassword(passwordService.hash(password));
+            userRepository.save(user);
+        }
+        return uOpt;
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS_BY_ROLE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.USERS_BY_ID, key = "#userId")
+    })
     public User updateUserProfile(Long userId, User userDetails) {
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -32,21 +60,27 @@ public class UserService {
         user.setName(userDetails.getName());
         user.setEmail(userDetails.getEmail());
         user.setPhone(userDetails.getPhone());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        searchService.indexUser(saved);
+        return saved;
     }
 
     public void changePassword(Long userId, String currentPassword, String newPassword) {
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
-        if (!user.getPassword().equals(currentPassword)) {
+        if (!passwordService.matches(currentPassword, user.getPassword())) {
             throw new RuntimeException("Current password does not match");
         }
-        user.setPassword(newPassword);
+        user.setPassword(passwordService.hash(newPassword));
         userRepository.save(user);
     }
 
+    @Cacheable(CacheConfig.USERS_BY_ROLE)
     public List<UserDto> findByRole(String role) {
-        return userRepository.findByRole(role).stream()
-                .map(u -> new UserDto(u.getId(), u.getName()))
-                .collect(Collectors.toList());
+        return userRepository.findDtoByRole(role);
+    }
+
+    @Cacheable(CacheConfig.USERS_BY_ID)
+    public UserSummary findSummaryById(Long userId) {
+        return userRepository.findSummaryById(userId).orElseThrow(() -> new RuntimeException("User not found"));
     }
 }
@@ -0,0 +1,57 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.ApprovalRate;
+import com.gatepass.gatepass_backend.model.GatePassRequest;
+import com.gatepass.gatepass_backend.model.MovementDailyStat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class AnalyticsServiceTests {
+    private static final String DEPT = "ANALYTICS";
+
+    @Autowired private GatePassService gatePassService;
+    @Autowired private AnalyticsService analyticsService;
+
+    @Test
+    void incrementalRollupsMatchBackfill() {
+        for (int i = 0; i < 11; i++) {
+            GatePassRequest r = new GatePassRequest();
+            r.setStudentId(5000L + i);
+            r.setTutorId(51L);
+            r.setWardenId(52L);
+            r.setDepartment(DEPT);
+            r.setYear(2);
+            Long id = gatePassService.createRequest(r).getId();
+            if (i < 6) gatePassService.approveRequest(id, "TUTOR");
+            if (i < 4) gatePassService.approveRequest(id, "WARDEN");
+            if (i == 9) gatePassService.rejectRequest(id);
+            // Neither a withdrawn request nor an approval sent back for changes counts.
+            if (i == 3) gatePassService.modifyApproval(id);
+            if (i == 10) gatePassService.deleteRequest(id);
+        }
+        analyticsService.flush();
+        assertTotals(10, 3, 1);
+        assertTrue(analyticsService.approverLatencies().stream()
+                .anyMatch(l -> l.getRole().equals("WARDEN") && l.getApproverId() == 52L && l.getApprovals() == 4));
+
+        analyticsService.backfill();
+        assertTotals(10, 3, 1);
+    }
+
+    private void assertTotals(long submitted, long approved, long rejected) {
+        LocalDate today = LocalDate.now();
+        List<MovementDailyStat> days = analyticsService.daily(today.minusDays(1), today.plusDays(1), DEPT);
+        assertEquals(submitted, days.stream().mapToLong(MovementDailyStat::getSubmitted).sum());
+        ApprovalRate rate = analyticsService.approvalRates(today.minusDays(1), today.plusDays(1)).stream()
+                .filter(a -> a.getDepartment().equals(DEPT)).findFirst().orElseThrow();
+        assertEquals(approved, rate.getApproved());
+        assertEquals(rejected, rate.getRejected());
+        assertEquals((double) approved / (approved + rejected), rate.getApprovalRate(), 1e-9);
+    }
+}
@@ -0,0 +1,63 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.ApproverWorkload;
+import com.gatepass.gatepass_backend.model.GatePassRequest;
+import com.gatepass.gatepass_backend.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "gatepass.routing.max-pending.warden=100")
+class ApproverWorkloadServiceTests {
+    @Autowired private GatePassService gatePassService;
+    @Autowired private AdminService adminService;
+    @Autowired private ApproverWorkloadService approverWorkloadService;
+
+    @Test
+    void overloadedWardenIsSkippedAndWorkloadIsCounted() {
+        Long tutor = user("load-tutor", "TUTOR");
+        Long warden = user("load-warden", "WARDEN");
+        user("load-warden-2", "WARDEN");
+        for (int i = 0; i < 100; i++) assertEquals(warden, create(tutor, warden).getWardenId(), "below the limit the chosen warden is kept");
+        assertNotEquals(warden, create(tutor, warden).getWardenId());
+
+        approverWorkloadService.refresh();
+        assertNotEquals(warden, create(tutor, warden).getWardenId(), "still overloaded after a refresh from the database");
+
+        List<Long> mine = new ArrayList<>();
+        for (GatePassRequest r : gatePassService.getPendingRequestsForTutor(tutor)) if (r.getWardenId().equals(warden)) mine.add(r.getId());
+        for (int i = 0; i < 3; i++) gatePassService.approveRequest(mine.get(i), "TUTOR");
+        List<ApproverWorkload> workload = approverWorkloadService.workload();
+        ApproverWorkload w = workload.stream().filter(a -> a.getApproverId().equals(warden)).findFirst().orElseThrow();
+        ApproverWorkload t = workload.stream().filter(a -> a.getApproverId().equals(tutor)).findFirst().orElseThrow();
+        assertEquals("WARDEN", w.getRole());
+        assertEquals(3, w.getPending());
+        assertEquals(99, t.getPending());
+        assertEquals(3, t.getProcessed());
+
+        assertThrows(IllegalStateException.class, () -> adminService.deleteUser(warden));
+        Long idle = user("load-idle", "SECURITY");
+        adminService.deleteUser(idle);
+    }
+
+    private GatePassRequest create(Long tutor, Long warden) {
+        GatePassRequest r = new GatePassRequest();
+        r.setStudentId(9000L);
+        r.setTutorId(tutor);
+        r.setWardenId(warden);
+        return gatePassService.createRequest(r);
+    }
+
+    private Long user(String username, String role) {
+        User u = new User();
+        u.setUsername(username);
+        u.setPassword("pw");
+        u.setName(username);
+        u.setRole(role);
+        return adminService.createUser(u).getId();
+    }
+}
@@ -0,0 +1,79 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.CursorPage;
+import com.gatepass.gatepass_backend.dto.ExportFilter;
+import com.gatepass.gatepass_backend.model.GatePassRequest;
+import com.gatepass.gatepass_backend.repository.GatePassRequestRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "gatepass.archive.chunk-size=7")
+class ArchiveServiceTests {
+    private static final long STUDENT = 7001L;
+
+    @Autowired private GatePassService gatePassService;
+    @Autowired private ArchiveService archiveService;
+    @Autowired private ExportService exportService;
+    @Autowired private GatePassRequestRepository gatePassRequestRepository;
+
+    @Test
+    void archivedPassesStayVisibleInHistoryAndExport() throws Exception {
+        // 20 old rejected passes, 3 old pending ones, 5 recent rejected ones and 2 old approved.
+        List<Long> oldFinished = new ArrayList<>();
+        for (int i = 0; i < 28; i++) {
+            GatePassRequest r = new GatePassRequest();
+            r.setStudentId(STUDENT);
+            r.setTutorId(71L);
+            r.setWardenId(72L);
+            r.setDepartment("ARCHIVE");
+            if (i < 23) r.setCreatedAt(LocalDateTime.now().minusDays(400).plusMinutes(i));
+            Long id = gatePassService.createRequest(r).getId();
+            if (i < 20 || i >= 23) gatePassService.rejectRequest(id);
+            if (i < 20) oldFinished.add(id);
+        }
+        // Two old approved passes the student never scanned back in on.
+        for (int i = 0; i < 2; i++) {
+            GatePassRequest r = new GatePassRequest();
+            r.setStudentId(STUDENT);
+            r.setTutorId(71L);
+            r.setWardenId(72L);
+            r.setDepartment("ARCHIVE");
+            r.setCreatedAt(LocalDateTime.now().minusDays(300).plusMinutes(i));
+            Long id = gatePassService.createRequest(r).getId();
+            gatePassService.approveRequest(id, "TUTOR");
+            gatePassService.approveRequest(id, "WARDEN");
+            oldFinished.add(id);
+        }
+
+        assertTrue(archiveService.archive() >= 22);
+        assertTrue(gatePassRequestRepository.findAllById(oldFinished).isEmpty());
+        assertEquals(8, gatePassRequestRepository.findByStudentId(STUDENT).size());
+
+        assertEquals(30, gatePassService.getRequestsByStudentId(STUDENT).size());
+        List<GatePassRequest> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<GatePassRequest> page = gatePassService.pageByStudentId(STUDENT, cursor, 6);
+            paged.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(30, paged.stream().map(GatePassRequest::getId).distinct().count());
+        for (int i = 1; i < paged.size(); i++)
+            assertFalse(paged.get(i).getCreatedAt().isAfter(paged.get(i - 1).getCreatedAt()));
+        assertEquals(27, gatePassService.pageHistoryForTutor(71L, null, null, null, 200).getItems().stream()
+                .filter(r -> r.getStudentId() == STUDENT).count());
+
+        ExportFilter filter = new ExportFilter();
+        filter.setDepartment("ARCHIVE");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(filter, "csv", out);
+        assertEquals(31, out.toString().split("\n").length);
+    }
+}
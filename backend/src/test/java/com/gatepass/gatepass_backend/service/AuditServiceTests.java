@@ -0,0 +1,137 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.CursorPage;
+import com.gatepass.gatepass_backend.event.GatePassTransition;
+import com.gatepass.gatepass_backend.model.GatePassAuditEvent;
+import com.gatepass.gatepass_backend.model.GatePassRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class AuditServiceTests {
+    private static final long TUTOR = 9_800_010L;
+    private static final long WARDEN = 9_800_011L;
+
+    @Autowired private AuditService auditService;
+    @Autowired private AuditLogWriter auditLogWriter;
+    @Autowired private GatePassService gatePassService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void transitionsRoundTripThroughTheLog() {
+        Long id = create(9_800_001L);
+        gatePassService.approveRequest(id, "TUTOR");
+        gatePassService.approveRequest(id, "WARDEN");
+        gatePassService.modifyApproval(id);
+        gatePassService.rejectRequest(id);
+        auditLogWriter.flush();
+
+        List<GatePassAuditEvent> events = auditService.eventsForRequest(id);
+        List<String> to = new ArrayList<>(), from = new ArrayList<>();
+        for (GatePassAuditEvent e : events) {
+            to.add(e.getToStatus());
+            from.add(e.getFromStatus());
+            assertEquals(TUTOR, e.getTutorId());
+            assertEquals(WARDEN, e.getWardenId());
+        }
+        assertEquals(List.of("PENDING_TUTOR_APPROVAL", "PENDING_WARDEN_APPROVAL", "APPROVED", "PENDING_WARDEN_APPROVAL", "REJECTED"), to);
+        assertEquals(to.subList(0, 4), from.subList(1, 5), "each event starts where the previous one ended");
+        assertNull(from.get(0));
+        assertEquals("REJECTED", auditService.replayState(id));
+    }
+
+    @Test
+    void replayAllCountsEachRequestByItsLastEvent() {
+        auditLogWriter.flush();
+        Map<String, Long> before = auditService.replayAll();
+        Long approved = create(9_800_002L), rejected = create(9_800_003L), deleted = create(9_800_004L), pending = create(9_800_005L);
+        gatePassService.approveRequest(approved, "TUTOR");
+        gatePassService.approveRequest(approved, "WARDEN");
+        gatePassService.rejectRequest(rejected);
+        gatePassService.deleteRequest(deleted);
+        auditLogWriter.flush();
+
+        Map<String, Long> after = auditService.replayAll();
+        Map<String, Long> added = new HashMap<>();
+        after.forEach((status, n) -> {
+            long d = n - before.getOrDefault(status, 0L);
+            if (d != 0) added.put(status, d);
+        });
+        assertEquals(Map.of("APPROVED", 1L, "REJECTED", 1L, "PENDING_TUTOR_APPROVAL", 1L), added);
+        assertEquals("PENDING_TUTOR_APPROVAL", auditService.replayState(pending));
+        assertNull(auditService.replayState(deleted));
+    }
+
+    @Test
+    void tutorDecisionsPageNewestFirstWithoutRepeats() {
+        long tutor = 9_800_020L;
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 6; i++) ids.add(create(9_800_100L + i, tutor));
+        for (int i = 0; i < 3; i++) gatePassService.approveRequest(ids.get(i), "TUTOR");
+        gatePassService.rejectRequest(ids.get(3));
+        gatePassService.modifyApproval(ids.get(0)); // sent back to the tutor by the warden
+        gatePassService.deleteRequest(ids.get(5)); // withdrawn by the student, not a decision
+        auditLogWriter.flush();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<GatePassAuditEvent> page = auditService.approverHistory("TUTOR", tutor, cursor, 2);
+            for (GatePassAuditEvent e : page.getItems()) {
+                assertNotNull(e.getFromStatus());
+                assertNotNull(e.getToStatus());
+                seen.add(e.getId());
+            }
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(5, seen.size(), "three approvals, one rejection, one send-back");
+        assertEquals(5, new HashSet<>(seen).size());
+        for (int i = 1; i < seen.size(); i++) assertTrue(seen.get(i) < seen.get(i - 1));
+        assertEquals(3, pages);
+        assertThrows(IllegalArgumentException.class, () -> auditService.approverHistory("TUTOR", tutor, "not-a-cursor", 2));
+    }
+
+    // An event the database refuses is set aside after a few attempts instead of blocking
+    // every event queued behind it.
+    @Test
+    void aRejectedEventDoesNotBlockTheQueue() {
+        auditLogWriter.flush();
+        LocalDateTime now = LocalDateTime.now();
+        auditLogWriter.onTransition(new GatePassTransition(null, 1L, TUTOR, WARDEN, "CSE", 1, "A",
+                "PENDING_TUTOR_APPROVAL", "REJECTED", null, null, now, now, now));
+        Long id = create(9_800_006L);
+        for (int i = 0; i < 5; i++) auditLogWriter.flush();
+
+        assertEquals(List.of("PENDING_TUTOR_APPROVAL"), auditService.eventsForRequest(id).stream().map(GatePassAuditEvent::getToStatus).toList());
+        Long id2 = create(9_800_007L);
+        auditLogWriter.flush();
+        assertEquals(1, auditService.eventsForRequest(id2).size(), "later events are written on the first try");
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from gate_pass_event where request_id is null", Integer.class));
+    }
+
+    private Long create(long student) {
+        return create(student, TUTOR);
+    }
+
+    private Long create(long student, long tutor) {
+        GatePassRequest r = new GatePassRequest();
+        r.setStudentId(student);
+        r.setStudentName("Audit Test");
+        r.setTutorId(tutor);
+        r.setWardenId(WARDEN);
+        return gatePassService.createRequest(r).getId();
+    }
+}
@@ -0,0 +1,116 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.model.User;
+import com.gatepass.gatepass_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthenticationTests {
+    @Autowired private PasswordService passwordService;
+    @Autowired private UserService userService;
+    @Autowired private SessionTokenService sessionTokenService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private MockMvc mvc;
+
+    @Test
+    void bcryptHashesVerify() {
+        String hash = passwordService.hash("s3cret");
+        assertTrue(hash.startsWith("$2a$10$"));
+        assertTrue(passwordService.matches("s3cret", hash));
+        assertFalse(passwordService.matches("S3cret", hash));
+        assertFalse(passwordService.matches(null, hash));
+        assertFalse(passwordService.needsRehash(hash));
+    }
+
+    @Test
+    void legacyAndCheapHashesAreUpgradedOnLogin() {
+        Long plain = insertUser("auth-plain", "legacy-pw");
+        Long cheap = insertUser("auth-cheap", new BCryptPasswordEncoder(4).encode("cheap-pw"));
+
+        assertTrue(userService.authenticate("auth-plain", "wrong").isEmpty());
+        assertEquals("legacy-pw", storedPassword(plain), "a failed login changes nothing");
+        assertTrue(userService.authenticate("auth-plain", "legacy-pw").isPresent());
+        assertTrue(userService.authenticate("auth-cheap", "cheap-pw").isPresent());
+
+        for (Long id : new Long[]{plain, cheap}) {
+            String stored = storedPassword(id);
+            assertTrue(stored.startsWith("$2a$10$"), stored);
+            assertFalse(passwordService.needsRehash(stored));
+        }
+        assertTrue(userService.authenticate("auth-plain", "legacy-pw").isPresent(), "the new hash verifies");
+        assertTrue(userService.authenticate("auth-cheap", "cheap-pw").isPresent());
+    }
+
+    // Otherwise the response time tells an attacker which usernames exist.
+    @Test
+    void unknownUserTakesAsLongAsAWrongPassword() {
+        insertUser("auth-timed", passwordService.hash("right"));
+        for (int i = 0; i < 3; i++) {
+            userService.authenticate("auth-timed", "wrong");
+            userService.authenticate("auth-nobody", "wrong");
+        }
+        long wrongPassword = 0, unknownUser = 0;
+        for (int i = 0; i < 8; i++) {
+            long t0 = System.nanoTime();
+            assertTrue(userService.authenticate("auth-timed", "wrong").isEmpty());
+            long t1 = System.nanoTime();
+            assertTrue(userService.authenticate("auth-nobody", "wrong").isEmpty());
+            long t2 = System.nanoTime();
+            wrongPassword += t1 - t0;
+            unknownUser += t2 - t1;
+        }
+        double ratio = unknownUser / (double) wrongPassword;
+        assertTrue(ratio > 0.5 && ratio < 2, "unknown/wrong time ratio " + ratio);
+    }
+
+    @Test
+    void expiredForgedAndTamperedSessionTokensAreRejected() {
+        String token = sessionTokenService.issue(42L, "STUDENT");
+        assertEquals(new SessionTokenService.Session(42L, "STUDENT"), sessionTokenService.verify(token).orElseThrow());
+
+        String expired = new SessionTokenService("test-token-secret", -1).issue(42L, "STUDENT");
+        String forged = new SessionTokenService("another-secret", 12).issue(42L, "ADMIN");
+        String body = token.substring(0, token.indexOf('.'));
+        // Same signature, payload edited to claim another role.
+        String promoted = Base64.getUrlEncoder().withoutPadding().encodeToString("42|ADMIN|9999999999".getBytes(StandardCharsets.UTF_8))
+                + token.substring(token.indexOf('.'));
+        for (String bad : new String[]{expired, forged, promoted, body, "garbage", null})
+            assertTrue(sessionTokenService.verify(bad).isEmpty(), String.valueOf(bad));
+    }
+
+    @Test
+    void protectedEndpointsNeedAValidToken() throws Exception {
+        Long id = insertUser("auth-http", passwordService.hash("pw"));
+        mvc.perform(get("/api/users/" + id)).andExpect(status().isUnauthorized());
+        mvc.perform(get("/api/users/" + id).header("Authorization", "Bearer garbage")).andExpect(status().isUnauthorized());
+        mvc.perform(get("/api/users/" + id).header("Authorization", "Bearer " + new SessionTokenService("test-token-secret", -1).issue(id, "STUDENT")))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(get("/api/users/" + id).header("Authorization", "Bearer " + sessionTokenService.issue(id + 1, "STUDENT")))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/api/users/" + id).header("Authorization", "Bearer " + sessionTokenService.issue(id, "STUDENT")))
+                .andExpect(status().isOk());
+    }
+
+    private Long insertUser(String username, String password) {
+        jdbcTemplate.update("insert into user (username, password, name, role) values (?, ?, ?, 'STUDENT')", username, password, username);
+        return userRepository.findByUsername(username).map(User::getId).orElseThrow();
+    }
+
+    private String storedPassword(Long id) {
+        return jdbcTemplate.queryForObject("select password from user where id = ?", String.class, id);
+    }
+}
@@ -0,0 +1,124 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.ExportFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.Invocation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ExportServiceTests {
+    private static final int CHUNK = ExportService.CHUNK_SIZE;
+    private static final int ROWS = 2 * CHUNK + CHUNK / 2;
+
+    @Autowired private ExportService exportService;
+    @MockitoSpyBean private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from gate_pass_request where department = 'EXPORT'");
+    }
+
+    // Records how many lines had been written at each flush.
+    private static final class RecordingSink extends OutputStream {
+        long lines;
+        final List<Long> flushedAt = new ArrayList<>();
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') lines++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) write(b[i]);
+        }
+
+        @Override
+        public void flush() {
+            if (flushedAt.isEmpty() || flushedAt.get(flushedAt.size() - 1) != lines) flushedAt.add(lines);
+        }
+    }
+
+    // Memory stays flat if rows are read CHUNK at a time, each read resuming after the last
+    // key, and each chunk is pushed to the client before the next one is read.
+    @Test
+    void exportReadsKeysetChunksAndFlushesEachOne() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{1000L + i % 500, "Student " + i, "RN" + i, "EXPORT", 1 + i % 4,
+                    i % 3 == 0 ? "REJECTED" : "APPROVED", "Home visit for the weekend, returning Sunday evening",
+                    Timestamp.valueOf(start.plusSeconds(i / 2))});
+        }
+        insert(rows);
+
+        Mockito.clearInvocations(jdbcTemplate);
+        RecordingSink sink = new RecordingSink();
+        ExportFilter filter = new ExportFilter();
+        filter.setDepartment("EXPORT");
+        exportService.export(filter, "csv", sink);
+
+        assertEquals(ROWS + 1, sink.lines, "header plus one line per row");
+        List<Object[]> live = exportQueries("from gate_pass_request where");
+        List<Object[]> archive = exportQueries("from gate_pass_request_archive where");
+        assertEquals(3, live.size(), "two full chunks and a partial one");
+        assertEquals(1, archive.size(), "one empty chunk");
+        for (int i = 1; i < live.size(); i++) {
+            Object[] prev = live.get(i - 1), next = live.get(i);
+            // Keyset arguments (created_at, created_at, id) move strictly forward.
+            assertTrue(((Timestamp) next[next.length - 3]).compareTo((Timestamp) prev[prev.length - 3]) >= 0);
+            assertNotEquals(prev[prev.length - 1], next[next.length - 1]);
+        }
+        assertEquals(List.of(1L + CHUNK, 1L + 2 * CHUNK, 1L + ROWS), sink.flushedAt);
+
+        RecordingSink approved = new RecordingSink();
+        filter.setStatus("APPROVED");
+        exportService.export(filter, "ndjson", approved);
+        assertEquals(ROWS - (ROWS + 2) / 3, approved.lines);
+    }
+
+    @Test
+    void csvCellsCannotStartAFormula() throws Exception {
+        insert(List.<Object[]>of(new Object[]{2000L, "=HYPERLINK(\"http://x\",\"y\")", "@SUM(A1)", "EXPORT", 1, "APPROVED",
+                "-2+3", Timestamp.valueOf(LocalDateTime.of(2024, 2, 1, 8, 0))}));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportFilter filter = new ExportFilter();
+        filter.setDepartment("EXPORT");
+        exportService.export(filter, "csv", out);
+
+        String row = out.toString(StandardCharsets.UTF_8).split("\n")[1];
+        assertTrue(row.contains(",\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\",'@SUM(A1),"), row);
+        assertTrue(row.contains(",'-2+3,"), row);
+    }
+
+    // Bound parameters of each export chunk query against one table.
+    private List<Object[]> exportQueries(String marker) {
+        List<Object[]> calls = new ArrayList<>();
+        for (Invocation i : Mockito.mockingDetails(jdbcTemplate).getInvocations()) {
+            // query(sql, handler, args...); the spy also sees the overloads it delegates to.
+            if (!i.getMethod().getName().equals("query") || !i.getMethod().isVarArgs()
+                    || !(i.getRawArguments()[0] instanceof String sql)) continue;
+            if (sql.contains(marker) && sql.contains("limit " + CHUNK)) calls.add((Object[]) i.getRawArguments()[2]);
+        }
+        return calls;
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("insert into gate_pass_request (student_id, student_name, roll_number, department, year,"
+                + " status, purpose, created_at, version) values (?, ?, ?, ?, ?, ?, ?, ?, 0)", rows);
+    }
+}
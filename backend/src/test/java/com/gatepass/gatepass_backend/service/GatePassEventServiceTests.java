@@ -0,0 +1,208 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.event.GatePassTransition;
+import com.gatepass.gatepass_backend.model.GatePassRequest;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GatePassEventServiceTests {
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(.+)$", Pattern.MULTILINE);
+
+    @Autowired private GatePassEventService gatePassEventService;
+    @Autowired private WebApplicationContext context;
+    @Autowired private MockMvc mvc;
+
+    @Test
+    void reconnectingResumesAfterLastEventId() throws Exception {
+        long student = 9_950_001L;
+        MvcResult live = subscribe(mvc, student, null);
+        publish(student, 2);
+        publish(student + 1, 1);
+        publish(student, 2);
+        List<String> ids = awaitIds(live, 4);
+
+        MvcResult resumed = subscribe(mvc, student, ids.get(1));
+        assertEquals(ids.subList(2, 4), awaitIds(resumed, 2), "only this scope's events after the id, in order");
+        MvcResult caughtUp = subscribe(mvc, student, ids.get(3));
+        publish(student, 1);
+        String next = awaitIds(live, 5).get(4);
+        assertEquals(List.of(ids.get(2), ids.get(3), next), awaitIds(resumed, 3));
+        assertEquals(List.of(next), awaitIds(caughtUp, 1));
+        assertFalse(body(resumed).contains("event:reset"));
+    }
+
+    // The client cannot tell which events it missed, so it is told to reload instead.
+    @Test
+    void unknownOrAgedOutIdsGetAReset() throws Exception {
+        long student = 9_950_011L;
+        MvcResult live = subscribe(mvc, student, null);
+        publish(student, 1);
+        String first = awaitIds(live, 1).get(0);
+        String epoch = first.substring(0, first.lastIndexOf('-'));
+
+        for (String id : new String[]{"k2xq0f1a-" + first.substring(first.lastIndexOf('-') + 1), epoch + "-999999999", "garbage"}) {
+            MvcResult reset = subscribe(mvc, student, id);
+            awaitBody(reset, "event:reset");
+            assertTrue(ids(reset).isEmpty(), id);
+        }
+
+        publish(student + 1, 1001); // pushes the event after the first one out of the replay buffer
+        MvcResult agedOut = subscribe(mvc, student, first);
+        awaitBody(agedOut, "event:reset");
+        publish(student, 1);
+        String next = awaitIds(live, 2).get(1);
+        assertEquals(List.of(next), awaitIds(agedOut, 1), "a reset subscriber still gets new events");
+    }
+
+    // The stalled subscriber's first send does not return, so its queue fills and it is dropped
+    // while the other subscriber to the same scope keeps receiving.
+    @Test
+    void aStalledSubscriberIsDroppedWithoutHoldingUpTheOthers() throws Exception {
+        long student = 9_950_021L;
+        StalledClient client = new StalledClient();
+        MockMvc stalledMvc = MockMvcBuilders.webAppContextSetup(context).addFilters(client).build();
+        MvcResult stalled = subscribe(stalledMvc, student, null);
+        MvcResult healthy = subscribe(mvc, student, null);
+
+        // In batches the healthy subscriber can keep up with; the stalled one overflows on the third.
+        for (int sent = 100; sent <= 300; sent += 100) {
+            publish(student, 100);
+            awaitIds(healthy, sent);
+        }
+        client.release();
+        assertNull(stalled.getAsyncResult(10_000), "the stalled stream is completed");
+        assertEquals(1, ids(stalled).size(), "only the send that was in progress");
+
+        publish(student, 1);
+        awaitIds(healthy, 301);
+        assertEquals(1, ids(stalled).size());
+    }
+
+    private static MvcResult subscribe(MockMvc mvc, long student, String lastEventId) throws Exception {
+        var request = get("/api/gatepass/events/student/" + student);
+        if (lastEventId != null) request.header("Last-Event-ID", lastEventId);
+        return mvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private void publish(long student, int count) {
+        GatePassRequest r = new GatePassRequest();
+        r.setId(student);
+        r.setStudentId(student);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime now = LocalDateTime.now();
+            gatePassEventService.onTransition(GatePassTransition.of(r, "PENDING_TUTOR_APPROVAL", "PENDING_WARDEN_APPROVAL", null, null, now, now));
+        }
+    }
+
+    private static String body(MvcResult result) throws Exception {
+        return result.getResponse().getContentAsString();
+    }
+
+    private static List<String> ids(MvcResult result) throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (Matcher m = EVENT_ID.matcher(body(result)); m.find(); ) ids.add(m.group(1));
+        return ids;
+    }
+
+    private static List<String> awaitIds(MvcResult result, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        List<String> ids;
+        while ((ids = ids(result)).size() < count) {
+            assertTrue(System.currentTimeMillis() < deadline, "got " + ids.size() + " of " + count + " events");
+            Thread.sleep(10);
+        }
+        assertEquals(count, ids.size());
+        return ids;
+    }
+
+    private static void awaitBody(MvcResult result, String text) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!body(result).contains(text)) {
+            assertTrue(System.currentTimeMillis() < deadline, "no " + text + " in " + body(result));
+            Thread.sleep(10);
+        }
+    }
+
+    // A client that has stopped reading: writes to its response block until it is released.
+    private static final class StalledClient implements Filter {
+        private boolean stalled = true;
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            chain.doFilter(request, new HttpServletResponseWrapper((HttpServletResponse) response) {
+                @Override
+                public ServletOutputStream getOutputStream() throws IOException {
+                    ServletOutputStream out = super.getOutputStream();
+                    return new ServletOutputStream() {
+                        @Override
+                        public void write(int b) throws IOException {
+                            await();
+                            out.write(b);
+                        }
+                        @Override
+                        public void write(byte[] b, int off, int len) throws IOException {
+                            await();
+                            out.write(b, off, len);
+                        }
+                        @Override
+                        public void flush() throws IOException {
+                            out.flush();
+                        }
+                        @Override
+                        public boolean isReady() {
+                            return out.isReady();
+                        }
+                        @Override
+                        public void setWriteListener(WriteListener listener) {
+                            out.setWriteListener(listener);
+                        }
+                    };
+                }
+            });
+        }
+
+        // Object.wait rather than a latch: a virtual thread parked inside the emitter's
+        // monitor would otherwise pin the only carrier thread on a single-core machine.
+        private synchronized void await() throws IOException {
+            try {
+                while (stalled) wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+
+        synchronized void release() {
+            stalled = false;
+            notifyAll();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.CursorPage;
+import com.gatepass.gatepass_backend.dto.GatePassSummary;
+import com.gatepass.gatepass_backend.dto.PageCursor;
+import com.gatepass.gatepass_backend.model.GatePassRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GatePassPagingTests {
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @Autowired private GatePassService gatePassService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private MockMvc mvc;
+
+    // Page boundaries fall in the middle of runs of equal created_at; the id breaks the tie.
+    @Test
+    void rowsSharingACreatedAtAreNeitherSkippedNorRepeated() {
+        long student = 9_900_001L;
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) ids.add(create(student, 9_900_010L, T0));
+        for (int i = 0; i < 4; i++) ids.add(create(student, 9_900_010L, T0.plusHours(1)));
+        ids.add(create(student, 9_900_010L, T0.minusHours(1)));
+
+        for (int size = 1; size <= 5; size++) {
+            int s = size;
+            List<GatePassRequest> rows = walk(c -> gatePassService.pageByStudentId(student, c, s));
+            assertInKeyOrder(rows.stream().map(r -> new Key(r.getCreatedAt(), r.getId())).toList(), ids, "size " + size);
+            List<GatePassSummary> summaries = walk(c -> gatePassService.summariesByStudentId(student, c, s));
+            assertInKeyOrder(summaries.stream().map(r -> new Key(r.getCreatedAt(), r.getId())).toList(), ids, "summaries, size " + size);
+        }
+    }
+
+    // from is inclusive and to exclusive, including rows created exactly at either bound.
+    @Test
+    void historyDateBoundsHoldOnEveryPage() {
+        long tutor = 9_900_020L;
+        List<Long> inRange = new ArrayList<>();
+        for (int day = 0; day < 6; day++)
+            for (int i = 0; i < 2; i++) {
+                Long id = create(9_900_002L, tutor, T0.plusDays(day));
+                gatePassService.approveRequest(id, "TUTOR");
+                if (day >= 1 && day < 4) inRange.add(id);
+            }
+        create(9_900_002L, tutor, T0.plusDays(2)); // still pending the tutor, so not history
+
+        List<GatePassRequest> rows = walk(c -> gatePassService.pageHistoryForTutor(tutor, T0.plusDays(1), T0.plusDays(4), c, 2));
+        assertInKeyOrder(rows.stream().map(r -> new Key(r.getCreatedAt(), r.getId())).toList(), inRange, "tutor history");
+        assertTrue(gatePassService.pageHistoryForTutor(tutor, null, T0, null, 10).getItems().isEmpty());
+        assertEquals(12, walk(c -> gatePassService.pageHistoryForTutor(tutor, null, null, c, 5)).size());
+    }
+
+    // A cursor from a later page is not widened by the upper bound, and a cursor past the bound
+    // is clamped to it.
+    @Test
+    void upperBoundIsFoldedIntoTheCursor() {
+        long warden = 9_900_031L;
+        List<Long> early = new ArrayList<>();
+        for (int day = 0; day < 5; day++) {
+            Long id = create(9_900_003L, 9_900_030L, T0.plusDays(day), warden);
+            gatePassService.approveRequest(id, "TUTOR");
+            gatePassService.rejectRequest(id);
+            if (day < 2) early.add(id);
+        }
+        String past = new PageCursor(T0.plusDays(4), Long.MAX_VALUE).encode();
+        List<GatePassRequest> rows = gatePassService.pageHistoryForWarden(warden, null, T0.plusDays(2), past, 10).getItems();
+        assertInKeyOrder(rows.stream().map(r -> new Key(r.getCreatedAt(), r.getId())).toList(), early, "clamped cursor");
+
+        CursorPage<GatePassRequest> first = gatePassService.pageHistoryForWarden(warden, null, null, null, 1);
+        List<GatePassRequest> rest = gatePassService.pageHistoryForWarden(warden, null, T0.plusDays(10), first.getNextCursor(), 10).getItems();
+        assertEquals(4, rest.size(), "a bound above the cursor changes nothing");
+    }
+
+    @Test
+    void invalidOrTamperedCursorsAreBadRequests() throws Exception {
+        long student = 9_900_004L;
+        for (int i = 0; i < 3; i++) create(student, 9_900_040L, T0.plusMinutes(i));
+        String cursor = gatePassService.pageByStudentId(student, null, 1).getNextCursor();
+        mvc.perform(get("/api/gatepass/student/" + student + "/page").param("cursor", cursor).param("size", "1"))
+                .andExpect(status().isOk());
+
+        String notBase64 = "not a cursor!";
+        String truncated = cursor.substring(1);
+        String noId = b64(T0.toString());
+        String badTime = b64("yesterday|" + Long.MAX_VALUE);
+        String badId = b64(T0 + "|1 or 1=1");
+        for (String bad : new String[]{notBase64, truncated, noId, badTime, badId}) {
+            mvc.perform(get("/api/gatepass/student/" + student + "/page").param("cursor", bad))
+                    .andExpect(status().isBadRequest());
+            mvc.perform(get("/api/gatepass/history/tutor/9900040/page").param("cursor", bad))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    // Live and archived rows share one (created_at, id) key space, including ties across tables.
+    @Test
+    void pagesMergedAcrossLiveAndArchivedRowsStayOrdered() {
+        long student = 9_900_005L, tutor = 9_900_050L;
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            Long id = create(student, tutor, T0.minusDays(400).plusHours(i / 3));
+            gatePassService.rejectRequest(id);
+            ids.add(id);
+        }
+        for (int i = 0; i < 16; i += 2) archive(ids.get(i));
+        ids.add(create(student, tutor, T0.minusDays(400)));
+
+        for (int size = 1; size <= 6; size++) {
+            int s = size;
+            List<GatePassRequest> rows = walk(c -> gatePassService.pageByStudentId(student, c, s));
+            assertInKeyOrder(rows.stream().map(r -> new Key(r.getCreatedAt(), r.getId())).toList(), ids, "student, size " + size);
+            List<GatePassSummary> summaries = walk(c -> gatePassService.summariesByStudentId(student, c, s));
+            assertInKeyOrder(summaries.stream().map(r -> new Key(r.getCreatedAt(), r.getId())).toList(), ids, "summaries, size " + size);
+            List<GatePassRequest> history = walk(c -> gatePassService.pageHistoryForTutor(tutor, null, null, c, s));
+            assertInKeyOrder(history.stream().map(r -> new Key(r.getCreatedAt(), r.getId())).toList(), ids.subList(0, 16), "tutor, size " + size);
+        }
+    }
+
+    private record Key(LocalDateTime createdAt, Long id) {
+        boolean before(Key k) {
+            int c = createdAt.compareTo(k.createdAt);
+            return c > 0 || (c == 0 && id > k.id);
+        }
+    }
+
+    private static <T> List<T> walk(Function<String, CursorPage<T>> pages) {
+        List<T> rows = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<T> page = pages.apply(cursor);
+            rows.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return rows;
+    }
+
+    private static void assertInKeyOrder(List<Key> keys, List<Long> expected, String what) {
+        for (int i = 1; i < keys.size(); i++)
+            assertTrue(keys.get(i - 1).before(keys.get(i)), what + ": " + keys.get(i - 1) + " then " + keys.get(i));
+        assertEquals(new HashSet<>(expected), new HashSet<>(keys.stream().map(Key::id).toList()), what);
+        assertEquals(expected.size(), keys.size(), what);
+    }
+
+    private Long create(long student, long tutor, LocalDateTime createdAt) {
+        return create(student, tutor, createdAt, 9_900_099L);
+    }
+
+    private Long create(long student, long tutor, LocalDateTime createdAt, long warden) {
+        GatePassRequest r = new GatePassRequest();
+        r.setStudentId(student);
+        r.setStudentName("Paging Test");
+        r.setTutorId(tutor);
+        r.setWardenId(warden);
+        r.setCreatedAt(createdAt);
+        return gatePassService.createRequest(r).getId();
+    }
+
+    // What ArchiveService does for one row, without its age cutoff.
+    private void archive(Long id) {
+        String columns = "id, student_id, student_name, roll_number, mobile_number, department, year, class_section,"
+                + " purpose, status, tutor_id, warden_id, version, status_changed_at, exit_at, return_at, created_at";
+        jdbcTemplate.update("insert into gate_pass_request_archive (" + columns + ", archived_at) select " + columns
+                + ", ? from gate_pass_request where id = ?", Timestamp.valueOf(LocalDateTime.now()), id);
+        jdbcTemplate.update("delete from gate_pass_request where id = ?", id);
+    }
+
+    private static String b64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
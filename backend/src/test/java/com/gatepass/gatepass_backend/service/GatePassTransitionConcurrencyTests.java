@@ -0,0 +1,246 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.BatchTransitionRequest;
+import com.gatepass.gatepass_backend.model.GatePassRequest;
+import com.gatepass.gatepass_backend.repository.GatePassRequestRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class GatePassTransitionConcurrencyTests {
+    private static final int REQUESTS = 300;
+    private static final int ATTEMPTS_PER_ACTION = 3;
+
+    @Autowired private GatePassService gatePassService;
+    @Autowired private GatePassRequestRepository gatePassRequestRepository;
+    @Autowired private AuditLogWriter auditLogWriter;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private enum Action { TUTOR_APPROVE, REJECT, DELETE, WARDEN_APPROVE }
+
+    @Test
+    void conflictingTransitionsLeaveConsistentStates() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            GatePassRequest r = new GatePassRequest();
+            r.setStudentId(1000L + i);
+            r.setStudentName("Student " + i);
+            r.setTutorId(1L);
+            r.setWardenId(2L);
+            ids.add(gatePassService.createRequest(r).getId());
+        }
+
+        // Every request gets several copies of each action, shuffled, all fired at once.
+        List<Runnable> tasks = new ArrayList<>();
+        ConcurrentHashMap<Long, List<Action>> wins = new ConcurrentHashMap<>();
+        AtomicInteger unexpected = new AtomicInteger();
+        for (Long id : ids) {
+            wins.put(id, Collections.synchronizedList(new ArrayList<>()));
+            for (Action a : Action.values()) {
+                for (int k = 0; k < ATTEMPTS_PER_ACTION; k++) {
+                    tasks.add(() -> {
+                        try {
+                            switch (a) {
+                                case TUTOR_APPROVE -> gatePassService.approveRequest(id, "TUTOR");
+                                case REJECT -> gatePassService.rejectRequest(id);
+                                case DELETE -> gatePassService.deleteRequest(id);
+                                case WARDEN_APPROVE -> gatePassService.approveRequest(id, "WARDEN");
+                            }
+                            wins.get(id).add(a);
+                        } catch (IllegalStateException | org.springframework.dao.OptimisticLockingFailureException
+                                 | java.util.NoSuchElementException expected) {
+                            // lost the race or the transition is not allowed from the state it saw
+                        } catch (RuntimeException e) {
+                            unexpected.incrementAndGet();
+                        }
+                    });
+                }
+            }
+        }
+        Collections.shuffle(tasks);
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        for (Runnable t : tasks) pool.execute(() -> {
+            try { start.await(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+            t.run();
+        });
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES));
+        assertEquals(0, unexpected.get());
+
+        for (Long id : ids) {
+            List<Action> won = wins.get(id);
+            assertFalse(won.isEmpty(), "some first-step action always applies to a fresh request");
+            Optional<GatePassRequest> row = gatePassRequestRepository.findById(id);
+            if (won.contains(Action.DELETE)) {
+                assertEquals(List.of(Action.DELETE), won, "a deleted request cannot also have been processed");
+                assertTrue(row.isEmpty());
+                continue;
+            }
+            GatePassRequest r = row.orElseThrow();
+            // Each successful transition bumps the version exactly once.
+            assertEquals(won.size(), r.getVersion().intValue(), "version for request " + id);
+            assertTrue(Collections.frequency(won, Action.TUTOR_APPROVE) <= 1);
+            assertTrue(Collections.frequency(won, Action.WARDEN_APPROVE) <= 1);
+            assertTrue(Collections.frequency(won, Action.REJECT) <= 1);
+            String expected = won.contains(Action.REJECT) ? "REJECTED"
+                    : won.contains(Action.WARDEN_APPROVE) ? "APPROVED"
+                    : won.contains(Action.TUTOR_APPROVE) ? "PENDING_WARDEN_APPROVAL"
+                    : "PENDING_TUTOR_APPROVAL";
+            assertEquals(expected, r.getStatus(), "status for request " + id);
+            if (won.contains(Action.WARDEN_APPROVE)) {
+                assertTrue(won.contains(Action.TUTOR_APPROVE));
+                assertFalse(won.contains(Action.REJECT));
+            }
+        }
+    }
+
+    // Batches race single transitions on the same rows. Every row must move exactly once per
+    // reported win, whichever path won, and publish exactly one event per win.
+    @Test
+    void batchAndSingleTransitionsHaveOneWinnerPerStep() throws Exception {
+        List<Long> ids = create(200, 20_000L);
+        ConcurrentHashMap<Long, AtomicInteger> wins = counters(ids);
+        AtomicInteger unexpected = new AtomicInteger();
+        List<Runnable> tasks = new ArrayList<>();
+        for (Long id : ids) {
+            for (int k = 0; k < 2; k++) {
+                tasks.add(single(() -> gatePassService.approveRequest(id, "TUTOR"), id, wins, unexpected));
+                tasks.add(single(() -> gatePassService.rejectRequest(id), id, wins, unexpected));
+            }
+        }
+        for (int k = 0; k < 3; k++) {
+            tasks.addAll(batches(ids, "TUTOR", "APPROVE", wins, unexpected));
+            tasks.addAll(batches(ids, "TUTOR", "REJECT", wins, unexpected));
+        }
+        race(tasks);
+        assertEquals(0, unexpected.get());
+
+        auditLogWriter.flush();
+        for (Long id : ids) {
+            // One tutor decision, possibly followed by a single reject of the approved step.
+            int won = wins.get(id).get();
+            GatePassRequest r = gatePassRequestRepository.findById(id).orElseThrow();
+            assertTrue(won == 1 || won == 2, "wins for request " + id + ": " + won);
+            assertEquals(won, r.getVersion().intValue(), "version for request " + id);
+            assertEquals(won, decisions(id), "audit events for request " + id);
+            if (won == 2) assertEquals("REJECTED", r.getStatus());
+            else assertTrue(List.of("PENDING_WARDEN_APPROVAL", "REJECTED").contains(r.getStatus()));
+        }
+    }
+
+    // Warden approvals (single and batch) race "modify", which sends the pass back a step and
+    // can make it approvable again. Each row's version and audit trail must count the wins.
+    @Test
+    void modifyRacingApproveCountsEveryWinOnce() throws Exception {
+        List<Long> ids = create(200, 30_000L);
+        for (Long id : ids) gatePassService.approveRequest(id, "TUTOR");
+        ConcurrentHashMap<Long, AtomicInteger> wins = counters(ids);
+        AtomicInteger unexpected = new AtomicInteger();
+        List<Runnable> tasks = new ArrayList<>();
+        for (Long id : ids) {
+            for (int k = 0; k < 2; k++) {
+                tasks.add(single(() -> gatePassService.approveRequest(id, "WARDEN"), id, wins, unexpected));
+                tasks.add(single(() -> gatePassService.modifyApproval(id), id, wins, unexpected));
+            }
+        }
+        for (int k = 0; k < 2; k++) tasks.addAll(batches(ids, "WARDEN", "APPROVE", wins, unexpected));
+        race(tasks);
+        assertEquals(0, unexpected.get());
+
+        auditLogWriter.flush();
+        for (Long id : ids) {
+            GatePassRequest r = gatePassRequestRepository.findById(id).orElseThrow();
+            assertEquals(1 + wins.get(id).get(), r.getVersion().intValue(), "version for request " + id);
+            assertEquals(1 + wins.get(id).get(), decisions(id), "audit events for request " + id);
+        }
+    }
+
+    private List<Long> create(int n, long firstStudent) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            GatePassRequest r = new GatePassRequest();
+            r.setStudentId(firstStudent + i);
+            r.setStudentName("Student " + i);
+            // Approvers no other test uses, one warden per request so routing never kicks in.
+            r.setTutorId(firstStudent);
+            r.setWardenId(firstStudent + 1000 + i);
+            ids.add(gatePassService.createRequest(r).getId());
+        }
+        return ids;
+    }
+
+    private static ConcurrentHashMap<Long, AtomicInteger> counters(List<Long> ids) {
+        ConcurrentHashMap<Long, AtomicInteger> wins = new ConcurrentHashMap<>();
+        for (Long id : ids) wins.put(id, new AtomicInteger());
+        return wins;
+    }
+
+    private static Runnable single(Runnable call, Long id, Map<Long, AtomicInteger> wins, AtomicInteger unexpected) {
+        return () -> {
+            try {
+                call.run();
+                wins.get(id).incrementAndGet();
+            } catch (IllegalStateException | OptimisticLockingFailureException expected) {
+                // lost the race or not allowed from the state it saw
+            } catch (RuntimeException e) {
+                unexpected.incrementAndGet();
+            }
+        };
+    }
+
+    private List<Runnable> batches(List<Long> ids, String role, String action, Map<Long, AtomicInteger> wins, AtomicInteger unexpected) {
+        List<Runnable> tasks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += 20) {
+            BatchTransitionRequest b = new BatchTransitionRequest();
+            b.setRole(role);
+            b.setAction(action);
+            b.setIds(new ArrayList<>(ids.subList(from, Math.min(ids.size(), from + 20))));
+            tasks.add(() -> {
+                try {
+                    gatePassService.batchTransition(b).getResults().forEach((id, result) -> {
+                        if ("UPDATED".equals(result)) wins.get(id).incrementAndGet();
+                    });
+                } catch (RuntimeException e) {
+                    unexpected.incrementAndGet();
+                }
+            });
+        }
+        return tasks;
+    }
+
+    private static void race(List<Runnable> tasks) throws InterruptedException {
+        Collections.shuffle(tasks);
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        for (Runnable t : tasks) pool.execute(() -> {
+            try { start.await(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+            t.run();
+        });
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES));
+    }
+
+    // State changes after creation recorded for one request.
+    private int decisions(Long id) {
+        return jdbcTemplate.queryForObject("select count(*) from gate_pass_event where request_id = ? and from_status is not null", Integer.class, id);
+    }
+}
@@ -0,0 +1,144 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.GateScanResult;
+import com.gatepass.gatepass_backend.event.GatePassTransition;
+import com.gatepass.gatepass_backend.model.GatePassRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Returns are allowed straight after exit here so a whole exit-and-return fits in one test.
+@SpringBootTest(properties = "gatepass.gate.min-seconds-outside=0")
+@AutoConfigureMockMvc
+class GateScanServiceTests {
+    private static final long STUDENT = 9_700_001L;
+
+    @Autowired private GateScanService gateScanService;
+    @Autowired private GatePassService gatePassService;
+    @Autowired private SessionTokenService sessionTokenService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private MockMvc mvc;
+
+    @Test
+    void passIsScannedOutThenInThenRefused() {
+        String token = gateScanService.issueToken(approvedPass().getId(), STUDENT);
+        assertEquals("EXIT", gateScanService.scan(token).getOutcome());
+        assertEquals("RETURN", gateScanService.scan(token).getOutcome());
+        assertEquals("DENIED", gateScanService.scan(token).getOutcome(), "a returned pass is used up");
+    }
+
+    @Test
+    void onlyTheOwnerGetsAToken() {
+        GatePassRequest r = approvedPass();
+        assertThrows(IllegalStateException.class, () -> gateScanService.issueToken(r.getId(), STUDENT + 1));
+    }
+
+    @Test
+    void tamperedOrForgedTokensAreRefused() {
+        GatePassRequest r = approvedPass();
+        String token = gateScanService.issueToken(r.getId(), STUDENT);
+        String body = token.substring(0, token.indexOf('.'));
+        String sig = token.substring(token.indexOf('.') + 1);
+        String flipped = body + "." + (sig.charAt(0) == 'A' ? 'B' : 'A') + sig.substring(1);
+        String forged = new HmacSigner("not-the-pass-secret", "test").sign(r.getId() + "|" + r.getVersion());
+
+        for (String bad : new String[]{flipped, forged, body, "", null}) {
+            GateScanResult result = gateScanService.scan(bad);
+            assertEquals("DENIED", result.getOutcome());
+            assertEquals("Invalid or tampered pass.", result.getReason());
+        }
+        assertEquals("EXIT", gateScanService.scan(token).getOutcome(), "refusals leave the pass unused");
+    }
+
+    @Test
+    void codeIssuedBeforeAModifyIsStale() {
+        GatePassRequest r = approvedPass();
+        String old = gateScanService.issueToken(r.getId(), STUDENT);
+        gatePassService.modifyApproval(r.getId());
+        assertEquals("DENIED", gateScanService.scan(old).getOutcome(), "not approved while under review");
+
+        gatePassService.approveRequest(r.getId(), "WARDEN");
+        GateScanResult stale = gateScanService.scan(old);
+        assertEquals("DENIED", stale.getOutcome());
+        assertEquals("Pass has been changed since this code was issued.", stale.getReason());
+        assertEquals("EXIT", gateScanService.scan(gateScanService.issueToken(r.getId(), STUDENT)).getOutcome());
+    }
+
+    @Test
+    void passesPastTheirValidityAreRefused() {
+        GatePassRequest r = approvedPass();
+        String token = gateScanService.issueToken(r.getId(), STUDENT);
+        // Approved a month ago; the approval event reloads the index entry with that time.
+        LocalDateTime monthAgo = LocalDateTime.now().minusDays(30);
+        jdbcTemplate.update("update gate_pass_request set status_changed_at = ? where id = ?", Timestamp.valueOf(monthAgo), r.getId());
+        r.setStatusChangedAt(monthAgo);
+        gateScanService.onTransition(GatePassTransition.of(r, "PENDING_WARDEN_APPROVAL", "APPROVED", null, null, null, monthAgo));
+
+        GateScanResult result = gateScanService.scan(token);
+        assertEquals("DENIED", result.getOutcome());
+        assertEquals("Pass has expired.", result.getReason());
+        assertThrows(IllegalStateException.class, () -> gateScanService.issueToken(r.getId(), STUDENT));
+        assertNull(jdbcTemplate.queryForObject("select exit_at from gate_pass_request where id = ?", Timestamp.class, r.getId()));
+    }
+
+    @Test
+    void twoGatesScanningOnePassLetItOutOnce() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            String token = gateScanService.issueToken(approvedPass().getId(), STUDENT);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<GateScanResult>> scans = new ArrayList<>();
+            try (ExecutorService gates = Executors.newFixedThreadPool(2)) {
+                for (int g = 0; g < 2; g++) scans.add(gates.submit(() -> {
+                    start.await();
+                    return gateScanService.scan(token);
+                }));
+                start.countDown();
+            }
+            long exits = 0;
+            for (Future<GateScanResult> s : scans) if ("EXIT".equals(s.get().getOutcome())) exits++;
+            // The loser either saw the stamp and was refused or, with no wait outside, returned.
+            assertEquals(1, exits, "round " + round);
+        }
+    }
+
+    @Test
+    void onlySecurityAndAdminsMayScan() throws Exception {
+        String body = "{\"token\":\"" + gateScanService.issueToken(approvedPass().getId(), STUDENT) + "\"}";
+        mvc.perform(post("/api/gate/scan").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(post("/api/gate/scan").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header("Authorization", "Bearer " + sessionTokenService.issue(STUDENT, "STUDENT")))
+                .andExpect(status().isForbidden());
+        mvc.perform(post("/api/gate/scan").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header("Authorization", "Bearer " + sessionTokenService.issue(9_700_900L, "SECURITY")))
+                .andExpect(status().isOk());
+    }
+
+    private GatePassRequest approvedPass() {
+        GatePassRequest r = new GatePassRequest();
+        r.setStudentId(STUDENT);
+        r.setStudentName("Gate Test");
+        r.setRollNumber("RN-GATE");
+        r.setTutorId(9_700_010L);
+        r.setWardenId(9_700_011L);
+        Long id = gatePassService.createRequest(r).getId();
+        gatePassService.approveRequest(id, "TUTOR");
+        return gatePassService.approveRequest(id, "WARDEN");
+    }
+}
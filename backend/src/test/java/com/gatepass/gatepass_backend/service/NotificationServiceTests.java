@@ -0,0 +1,55 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.model.GatePassRequest;
+import com.gatepass.gatepass_backend.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class NotificationServiceTests {
+    @Autowired private GatePassService gatePassService;
+    @Autowired private AdminService adminService;
+    @Autowired private NotificationService notificationService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void transitionsQueueOneNotificationEachAndDispatchDrainsThem() {
+        Long student = user("notify-student", "STUDENT", "student@x.edu");
+        Long tutor = user("notify-tutor", "TUTOR", null);
+        Long warden = user("notify-warden", "WARDEN", "warden@x.edu");
+        GatePassRequest r = new GatePassRequest();
+        r.setStudentId(student);
+        r.setTutorId(tutor);
+        r.setWardenId(warden);
+        Long id = gatePassService.createRequest(r).getId();
+        gatePassService.approveRequest(id, "TUTOR");
+        gatePassService.approveRequest(id, "WARDEN");
+
+        assertEquals(List.of(tutor, warden, student), jdbcTemplate.queryForList(
+                "select recipient_id from notification_outbox where request_id = ? order by id", Long.class, id));
+
+        notificationService.dispatch();
+        // The tutor has neither email nor phone, so that one is skipped rather than retried.
+        assertEquals(List.of("SKIPPED", "SENT", "SENT"), jdbcTemplate.queryForList(
+                "select status from notification_outbox where request_id = ? order by id", String.class, id));
+        assertEquals(Duration.ofSeconds(30), NotificationService.backoff(1));
+        assertEquals(Duration.ofMinutes(4), NotificationService.backoff(4));
+        assertEquals(Duration.ofHours(1), NotificationService.backoff(12));
+    }
+
+    private Long user(String username, String role, String email) {
+        User u = new User();
+        u.setUsername(username);
+        u.setPassword("pw");
+        u.setName(username);
+        u.setRole(role);
+        u.setEmail(email);
+        return adminService.createUser(u).getId();
+    }
+}
@@ -0,0 +1,88 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.CursorPage;
+import com.gatepass.gatepass_backend.dto.GatePassSummary;
+import com.gatepass.gatepass_backend.model.GatePassRequest;
+import com.gatepass.gatepass_backend.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SearchServiceTests {
+    @Autowired private GatePassService gatePassService;
+    @Autowired private AdminService adminService;
+    @Autowired private SearchService searchService;
+    @Autowired private SessionTokenService sessionTokenService;
+    @Autowired private MockMvc mvc;
+
+    @Test
+    void onlyAdminsSearchUsers() throws Exception {
+        mvc.perform(get("/api/search/users").param("q", "warden")).andExpect(status().isUnauthorized());
+        mvc.perform(get("/api/search/users").param("q", "warden").header("Authorization", "Bearer " + sessionTokenService.issue(1L, "STUDENT")))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/api/search/users").param("q", "warden").header("Authorization", "Bearer " + sessionTokenService.issue(1L, "ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void prefixAndTypoMatchesAcrossPages() throws Exception {
+        Long match = create("Priyadharshini Venkatesan", "22SRCH014", "Cardiology appointment");
+        create("Priyadharshini Raman", "22SRCH015", "Home visit");
+        create("Someone Else", "22OTHER01", "Sports meet");
+        for (int i = 0; i < 12; i++) create("Searchpage Student" + i, "22PAGE" + i, "Wedding");
+        User u = new User();
+        u.setUsername("searchwarden");
+        u.setPassword("secret");
+        u.setName("Kaveri Warden");
+        u.setRole("WARDEN");
+        Long userId = adminService.createUser(u).getId();
+        searchService.refresh();
+
+        assertEquals(List.of(match), ids(searchService.searchRequests("priyadh venkat", null, 10)));
+        assertEquals(List.of(match), ids(searchService.searchRequests("Priyadharshni cardiolgy", null, 10)));
+        assertEquals(2, searchService.searchRequests("22srch", null, 10).getItems().size());
+        assertEquals(userId, searchService.searchUsers("searchward", null, 10).getItems().get(0).getId());
+
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<GatePassSummary> page = searchService.searchRequests("searchpage wedding", cursor, 5);
+            seen.addAll(ids(page));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        assertEquals(12, seen.size());
+        assertEquals(3, pages);
+
+        gatePassService.deleteRequest(match);
+        searchService.refresh();
+        assertTrue(searchService.searchRequests("venkatesan", null, 10).getItems().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> searchService.searchRequests("  ", null, 10));
+    }
+
+    private Long create(String name, String roll, String purpose) {
+        GatePassRequest r = new GatePassRequest();
+        r.setStudentId(8000L);
+        r.setStudentName(name);
+        r.setRollNumber(roll);
+        r.setPurpose(purpose);
+        r.setDepartment("SEARCH");
+        return gatePassService.createRequest(r).getId();
+    }
+
+    private static List<Long> ids(CursorPage<GatePassSummary> page) {
+        return page.getItems().stream().map(GatePassSummary::getId).toList();
+    }
+}
@@ -0,0 +1,124 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.model.GatePassRequest;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+
+@SpringBootTest
+class SubmissionServiceTests {
+    @Autowired private SubmissionService submissionService;
+    @Autowired private GatePassService gatePassService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void retriesWithTheSameKeyReplayTheFirstResponse() throws Exception {
+        long student = 9_500_001L;
+        SubmissionService.Submission first = submissionService.submit(request(student), "form-1");
+        assertFalse(first.replayed());
+
+        List<Future<SubmissionService.Submission>> retries = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) retries.add(pool.submit(() -> submissionService.submit(request(student), "form-1")));
+        }
+        for (Future<SubmissionService.Submission> f : retries) {
+            assertTrue(f.get().replayed());
+            assertEquals(first.request().getId(), f.get().request().getId());
+        }
+        assertEquals(1, rows(student));
+
+        // Keys are per student, and a different key is a different submission.
+        assertFalse(submissionService.submit(request(9_500_002L), "form-1").replayed());
+        assertNotEquals(first.request().getId(), submissionService.submit(request(student), "form-2").request().getId());
+        assertEquals(2, rows(student));
+        assertThrows(IllegalArgumentException.class, () -> submissionService.submit(request(student), "k".repeat(256)));
+    }
+
+    @Test
+    void pendingRequestsAndSubmissionRateAreCappedPerStudent() {
+        long student = 9_500_003L;
+        List<GatePassRequest> accepted = new ArrayList<>();
+        for (int i = 0; i < 3; i++) accepted.add(submissionService.submit(request(student), null).request());
+        assertThrows(IllegalStateException.class, () -> submissionService.submit(request(student), "retry-me"), "three already awaiting approval");
+
+        // Deciding one frees a slot, and the refused attempt was not remembered under its key.
+        gatePassService.rejectRequest(accepted.get(0).getId());
+        assertFalse(submissionService.submit(request(student), "retry-me").replayed());
+
+        // That was the fifth attempt, which empties the bucket.
+        gatePassService.rejectRequest(accepted.get(1).getId());
+        SubmissionService.ThrottledException e = assertThrows(SubmissionService.ThrottledException.class,
+                () -> submissionService.submit(request(student), null));
+        assertTrue(e.getRetryAfterSeconds() > 0);
+        assertEquals(4, rows(student));
+    }
+
+    // The refresh reads its counts, then stalls until the submissions and decisions made in
+    // the meantime are done; none of them may be lost when its result replaces the old counts.
+    @Test
+    void changesDuringARefreshAreKept() throws Exception {
+        long student = 9_500_004L;
+        List<GatePassRequest> open = new ArrayList<>();
+        for (int i = 0; i < 2; i++) open.add(submissionService.submit(request(student), null).request());
+
+        // A spy of its own rather than a shared one: stubbing a spy that the scheduled jobs are
+        // calling at the same time can attach the stub to one of their calls.
+        CountDownLatch counted = new CountDownLatch(1), resume = new CountDownLatch(1);
+        JdbcTemplate stalling = Mockito.spy(jdbcTemplate);
+        Mockito.doAnswer(inv -> {
+            inv.callRealMethod();
+            if (Thread.currentThread().getName().equals("refresh-under-test")) {
+                counted.countDown();
+                assertTrue(resume.await(30, TimeUnit.SECONDS));
+            }
+            return null;
+        }).when(stalling).query(contains("group by student_id"), any(RowCallbackHandler.class));
+        ReflectionTestUtils.setField(submissionService, "jdbcTemplate", stalling);
+        try {
+            Thread refresh = new Thread(submissionService::refresh, "refresh-under-test");
+            refresh.start();
+            assertTrue(counted.await(30, TimeUnit.SECONDS));
+
+            // The refresh saw two open requests; these leave three.
+            open.add(submissionService.submit(request(student), null).request());
+            gatePassService.rejectRequest(open.get(0).getId());
+            open.add(submissionService.submit(request(student), null).request());
+            resume.countDown();
+            refresh.join();
+        } finally {
+            ReflectionTestUtils.setField(submissionService, "jdbcTemplate", jdbcTemplate);
+        }
+
+        assertThrows(IllegalStateException.class, () -> submissionService.submit(request(student), null), "three awaiting approval");
+        assertEquals(4, rows(student));
+    }
+
+    private int rows(long student) {
+        return jdbcTemplate.queryForObject("select count(*) from gate_pass_request where student_id = ?", Integer.class, student);
+    }
+
+    private static GatePassRequest request(long student) {
+        GatePassRequest r = new GatePassRequest();
+        r.setStudentId(student);
+        r.setStudentName("Submission Test");
+        r.setPurpose("Home visit");
+        r.setTutorId(9_500_900L);
+        r.setWardenId(9_500_901L);
+        return r;
+    }
+}
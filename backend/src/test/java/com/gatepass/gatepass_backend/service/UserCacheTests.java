@@ -0,0 +1,78 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.config.CacheConfig;
+import com.gatepass.gatepass_backend.model.User;
+import com.gatepass.gatepass_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserCacheTests {
+    @Autowired private UserService userService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CacheManager cacheManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private MockMvc mvc;
+
+    @Test
+    void profileUpdateEvictsTheCachedUser() {
+        Long id = insertTutor("cache-evict", "Before");
+        assertEquals("Before", userService.findSummaryById(id).getName());
+        assertTrue(nameInDirectory(id, "Before"));
+
+        // Changed behind the cache's back, so only an eviction makes it visible.
+        jdbcTemplate.update("update user set name = 'Behind' where id = ?", id);
+        assertEquals("Before", userService.findSummaryById(id).getName());
+        assertTrue(nameInDirectory(id, "Before"));
+
+        userService.updateUserProfile(id, named("After"));
+        assertNull(cacheManager.getCache(CacheConfig.USERS_BY_ID).get(id));
+        assertNull(cacheManager.getCache(CacheConfig.USERS_BY_ROLE).get("TUTOR"));
+        assertEquals("After", userService.findSummaryById(id).getName());
+        assertTrue(nameInDirectory(id, "After"));
+    }
+
+    @Test
+    void roleDirectoryETagFollowsProfileUpdates() throws Exception {
+        Long id = insertTutor("cache-etag", "Old Name");
+        String etag = mvc.perform(get("/api/users/role/TUTOR")).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        mvc.perform(get("/api/users/role/TUTOR").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        userService.updateUserProfile(id, named("New Name"));
+        String changed = mvc.perform(get("/api/users/role/TUTOR").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changed);
+        mvc.perform(get("/api/users/role/TUTOR").header(HttpHeaders.IF_NONE_MATCH, changed))
+                .andExpect(status().isNotModified());
+    }
+
+    private boolean nameInDirectory(Long id, String name) {
+        return userService.findByRole("TUTOR").stream().anyMatch(u -> id.equals(u.getId()) && name.equals(u.getName()));
+    }
+
+    private static User named(String name) {
+        User details = new User();
+        details.setName(name);
+        return details;
+    }
+
+    private Long insertTutor(String username, String name) {
+        jdbcTemplate.update("insert into user (username, password, name, role) values (?, 'x', ?, 'TUTOR')", username, name);
+        return userRepository.findByUsername(username).map(User::getId).orElseThrow();
+    }
+}
@@ -0,0 +1,108 @@
+package com.gatepass.gatepass_backend.service;
+
+import com.gatepass.gatepass_backend.dto.UserImportError;
+import com.gatepass.gatepass_backend.dto.UserImportResult;
+import com.gatepass.gatepass_backend.model.User;
+import com.gatepass.gatepass_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class UserImportServiceTests {
+    @Autowired private UserImportService userImportService;
+    @Autowired private AdminService adminService;
+    @Autowired private UserService userService;
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    void csvImportReportsBadRows() throws Exception {
+        User existing = new User();
+        existing.setUsername("imp-taken");
+        existing.setPassword("pw");
+        existing.setName("Taken");
+        existing.setRole("STUDENT");
+        adminService.createUser(existing);
+
+        StringBuilder csv = new StringBuilder("username,password,name,role,email\n");
+        for (int i = 0; i < 2500; i++) csv.append("imp-").append(i).append(",pw").append(i).append(",Student ").append(i).append(",student,imp").append(i).append("@x.edu\n");
+        csv.append("imp-7,pw,Again,STUDENT,\n");              // username repeated in the file
+        csv.append("imp-taken,pw,Clash,STUDENT,\n");          // already in the database
+        csv.append("imp-nopw,,No Password,STUDENT,\n");
+        csv.append("imp-role,pw,\"Bad, Role\",JANITOR,\n");
+        csv.append("imp-mail,pw,Mail,STUDENT,imp3@x.edu\n"); // email repeated in the file
+
+        UserImportResult r = userImportService.importUsers(stream(csv.toString()), "csv", null);
+        assertTrue(r.isCompleted());
+        assertEquals(2500, r.getImported());
+        assertEquals(5, r.getFailed());
+        assertEquals(List.of(2501L, 2502L, 2503L, 2504L, 2505L), r.getErrors().stream().map(UserImportError::getRow).toList());
+        assertEquals("STUDENT", userRepository.findByUsername("imp-42").orElseThrow().getRole());
+        assertTrue(userService.authenticate("imp-42", "pw42").isPresent());
+    }
+
+    @Test
+    void interruptedJsonImportResumes() throws Exception {
+        StringBuilder good = new StringBuilder("[");
+        for (int i = 0; i < 2500; i++) {
+            if (i > 0) good.append(',');
+            good.append("{\"username\":\"res-").append(i).append("\",\"password\":\"pw\",\"name\":\"R ").append(i).append("\",\"role\":\"STUDENT\"}");
+        }
+        String full = good + "]";
+        String broken = full.replace("{\"username\":\"res-2200\"", "{\"username\":");
+
+        UserImportResult first = userImportService.importUsers(stream(broken), "json", "resume-test");
+        assertFalse(first.isCompleted());
+        assertEquals(2200, first.getImported());
+
+        UserImportResult second = userImportService.importUsers(stream(full), "json", "resume-test");
+        assertTrue(second.isCompleted());
+        assertEquals(2200, second.getSkipped());
+        assertEquals(300, second.getImported());
+        assertEquals(0, second.getFailed());
+        assertTrue(userRepository.findByUsername("res-2499").isPresent());
+    }
+
+    @Test
+    void concurrentRunsOfOneImportInsertEachRowOnce() throws Exception {
+        StringBuilder csv = new StringBuilder("username,password,name,role\n");
+        for (int i = 0; i < 2500; i++) csv.append("dup-").append(i).append(",pw,D ").append(i).append(",STUDENT\n");
+        List<Future<UserImportResult>> runs = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 4; i++) runs.add(pool.submit(() -> userImportService.importUsers(stream(csv.toString()), "csv", "dup-test")));
+        }
+        for (Future<UserImportResult> run : runs) {
+            try {
+                assertEquals(0, run.get().getFailed(), "a run never meets rows another run inserted");
+            } catch (ExecutionException e) {
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            }
+        }
+        assertEquals(2500, userRepository.findTakenUsernames(usernames("dup-", 2500)).size());
+        UserImportResult again = userImportService.importUsers(stream(csv.toString()), "csv", "dup-test");
+        assertEquals(2500, again.getSkipped());
+        assertEquals(0, again.getImported());
+    }
+
+    private static Set<String> usernames(String prefix, int n) {
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < n; i++) names.add(prefix + i);
+        return names;
+    }
+
+    private static ByteArrayInputStream stream(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+}